@@ -0,0 +1,145 @@
+package ru.practicum.ewm.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш готовых JSON-ответов публичных эндпоинтов подборок и категорий.
+ * Ответ хранится в сериализованном виде вместе с сильным ETag (SHA-256 тела) и временем формирования,
+ * поэтому повторный и условный запрос (If-None-Match, If-Modified-Since) обслуживаются без обращения к базе.
+ * Изменения администратором сбрасывают область кэша после коммита транзакции; данные событий внутри подборок
+ * (просмотры, подтверждённые заявки) обновляются не реже, чем раз в {@code response-cache.ttl-ms}.
+ */
+@Slf4j
+@Component
+public class PublicResponseCache {
+
+    public static final String COMPILATIONS = "compilations";
+    public static final String CATEGORIES = "categories";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Region> regions = new HashMap<>();
+
+    public PublicResponseCache(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${response-cache.max-size:1000}") long maxSize,
+                               @Value("${response-cache.ttl-ms:60000}") long ttlMs) {
+        this.objectMapper = objectMapper;
+        for (String name : new String[]{COMPILATIONS, CATEGORIES}) {
+            Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(Duration.ofMillis(ttlMs))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "public-responses-" + name);
+            Counter notModified = Counter.builder("public-responses.not-modified")
+                    .description("Условные запросы, на которые отправлен ответ 304")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+            regions.put(name, new Region(cache, new AtomicLong(), notModified));
+        }
+    }
+
+    /**
+     * Ответ из кэша или построенный {@code loader}; 304, если у клиента актуальная версия.
+     *
+     * @param key параметры запроса, однозначно определяющие ответ
+     */
+    public ResponseEntity<byte[]> get(String region, String key, HttpServletRequest request, Supplier<?> loader) {
+        Region cached = regions.get(region);
+        // поколение в ключе отсекает ответы, построенные до сброса области
+        long generation = cached.generation().get();
+        String cacheKey = generation + ":" + key;
+        CachedResponse response = cached.cache().getIfPresent(cacheKey);
+        if (response == null) {
+            // ответ строится вне Cache.get: загрузка внутри compute блокировала бы другие ключи
+            // той же корзины и закрепляла бы виртуальный поток на носителе на время запроса к базе
+            response = toCachedResponse(loader.get());
+            if (cached.generation().get() == generation) {
+                cached.cache().put(cacheKey, response);
+            }
+        }
+
+        // заголовки ответа выставляет ResponseEntity, здесь только проверка условий запроса
+        if (new ServletWebRequest(request).checkNotModified(response.etag(), response.lastModified())) {
+            cached.notModified().increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(response.etag())
+                    .lastModified(response.lastModified())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .lastModified(response.lastModified())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
+
+    /**
+     * Сбрасывает области после коммита текущей транзакции, чтобы в кэш не попали данные до изменения.
+     */
+    public void invalidateAfterCommit(String... names) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(names);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(names);
+            }
+        });
+    }
+
+    public void invalidate(String... names) {
+        for (String name : names) {
+            Region region = regions.get(name);
+            region.generation().incrementAndGet();
+            region.cache().invalidateAll();
+            log.debug("Кэш ответов {} сброшен", name);
+        }
+    }
+
+    private CachedResponse toCachedResponse(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+            return new CachedResponse(body, etag, Instant.now().truncatedTo(ChronoUnit.SECONDS).toEpochMilli());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Не удалось сформировать ответ для кэша", e);
+        }
+    }
+
+    private record CachedResponse(byte[] body, String etag, long lastModified) {
+    }
+
+    private record Region(Cache<String, CachedResponse> cache, AtomicLong generation, Counter notModified) {
+    }
+}
@@ -1,14 +1,16 @@
 package ru.practicum.ewm.categories.contoller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.ewm.categories.model.Category;
+import ru.practicum.ewm.cache.PublicResponseCache;
 import ru.practicum.ewm.categories.service.CategoryService;
 
-import java.util.List;
+import static ru.practicum.ewm.cache.PublicResponseCache.CATEGORIES;
 
 @Slf4j
 @RestController
@@ -17,20 +19,23 @@ import java.util.List;
 public class PublicCategoryController {
 
     private final CategoryService service;
+    private final PublicResponseCache responseCache;
 
     @GetMapping("/{catId}")
-    public Category getCategoryById(@PathVariable Long catId) {
+    public ResponseEntity<byte[]> getCategoryById(@PathVariable Long catId, HttpServletRequest request) {
         log.info("Запрос на получение категории c id: {}", catId);
-        return service.getCategoryById(catId);
+        return responseCache.get(CATEGORIES, "id=" + catId, request, () -> service.getCategoryById(catId));
     }
 
     @GetMapping
-    public List<Category> getAllCategories(@RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                           @RequestParam(defaultValue = "10") @Positive int size) {
+    public ResponseEntity<byte[]> getAllCategories(@RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                   @RequestParam(defaultValue = "10") @Positive int size,
+                                                   HttpServletRequest request) {
         log.info("Запрос на получение списка всех категорий с параметрами:" +
                         "\n from: {}" +
                         "\n size: {}",
                 from, size);
-        return service.getAllCategories(from, size);
+        return responseCache.get(CATEGORIES, "from=" + from + "&size=" + size, request,
+                () -> service.getAllCategories(from, size));
     }
 }
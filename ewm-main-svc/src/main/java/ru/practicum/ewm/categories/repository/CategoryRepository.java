@@ -1,11 +1,23 @@
 package ru.practicum.ewm.categories.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.ewm.categories.model.Category;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category,Long> {
 
     boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Результат кэшируется в кэше запросов Hibernate и сбрасывается при любом изменении таблицы categories.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Page<Category> findAll(Pageable pageable);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.cache.PublicResponseCache;
 import ru.practicum.ewm.categories.repository.CategoryRepository;
 import ru.practicum.ewm.categories.dto.CategoryDto;
 import ru.practicum.ewm.categories.dto.CategoryMapper;
@@ -26,6 +27,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final EventRepository eventRepository;
+    private final PublicResponseCache responseCache;
 
 
     @Override
@@ -35,6 +37,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         Category category = categoryMapper.toCategory(newCategoryDto);
         Category createdCategory = categoryRepository.save(category);
+        responseCache.invalidateAfterCommit(PublicResponseCache.CATEGORIES);
         log.info("Создана категория: {}", createdCategory);
         return createdCategory;
     }
@@ -48,6 +51,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new NotFoundException("Категории с id " + id + " не существует");
         }
         categoryRepository.deleteById(id);
+        responseCache.invalidateAfterCommit(PublicResponseCache.CATEGORIES);
         log.info("Категория с id: {} успешно удалена", id);
     }
 
@@ -64,6 +68,8 @@ public class CategoryServiceImpl implements CategoryService {
         category.setName(updateCategoryDto.getName());
         log.info("Имя категории с id {} изменено с '{}' на '{}'", catId, oldName, newName);
         Category updatedCategory = categoryRepository.save(category);
+        // название категории входит в события подборок
+        responseCache.invalidateAfterCommit(PublicResponseCache.CATEGORIES, PublicResponseCache.COMPILATIONS);
         log.info("Категория с id {} успешно обновлена.", catId);
         return updatedCategory;
     }
@@ -1,14 +1,16 @@
 package ru.practicum.ewm.compilation.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.ewm.compilation.dto.CompilationDto;
+import ru.practicum.ewm.cache.PublicResponseCache;
 import ru.practicum.ewm.compilation.service.CompilationService;
 
-import java.util.List;
+import static ru.practicum.ewm.cache.PublicResponseCache.COMPILATIONS;
 
 
 @Slf4j
@@ -17,26 +19,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PublicCompilationController {
     private final CompilationService compilationService;
+    private final PublicResponseCache responseCache;
 
     @GetMapping
-    public List<CompilationDto> getAllCompilations(
+    public ResponseEntity<byte[]> getAllCompilations(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            HttpServletRequest request) {
         log.info("Запрос на получение подборок событий с параметрами:" +
                 "\npinned={}" +
                 "\nfrom={}" +
                 "\nsize={}", pinned, from, size);
-        List<CompilationDto> compilations = compilationService.getAllCompilations(from, size, pinned);
-        log.info("Получен список подборок событий: {}", compilations);
-        return compilations;
+        ResponseEntity<byte[]> response = responseCache.get(COMPILATIONS,
+                "pinned=" + pinned + "&from=" + from + "&size=" + size, request,
+                () -> compilationService.getAllCompilations(from, size, pinned));
+        log.info("Отправлен список подборок событий, статус {}", response.getStatusCode());
+        return response;
     }
 
     @GetMapping("/{compId}")
-    public CompilationDto findCompilationById(@PathVariable Long compId) {
+    public ResponseEntity<byte[]> findCompilationById(@PathVariable Long compId, HttpServletRequest request) {
         log.info("Запрос на получение подборки событий по id {}", compId);
-        CompilationDto compilation = compilationService.findCompilationById(compId);
-        log.info("Получена подборка событий по id {}: {}", compId, compilation);
-        return compilation;
+        ResponseEntity<byte[]> response = responseCache.get(COMPILATIONS, "id=" + compId, request,
+                () -> compilationService.findCompilationById(compId));
+        log.info("Отправлена подборка событий по id {}, статус {}", compId, response.getStatusCode());
+        return response;
     }
 }
@@ -14,5 +14,6 @@ public interface CompilationMapper {
     @Mapping(target = "events", source = "events")
     Compilation toCompilationWithEvents(CompilationCreateDto compilationCreateDto, Set<Event> events);
 
+    @Mapping(target = "events", source = "eventShortDtoList")
     CompilationDto toCompilationDto(Compilation compilation, List<EventShortDto> eventShortDtoList);
 }
@@ -2,13 +2,30 @@ package ru.practicum.ewm.compilation.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.ewm.compilation.model.Compilation;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CompilationRepository extends JpaRepository<Compilation,Long> {
 
     List<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
+
+    /**
+     * События подборок вместе с категорией и инициатором одним запросом.
+     *
+     * @return пары [id подборки, событие]
+     */
+    @Query("""
+                SELECT c.id, e
+                FROM Compilation c
+                JOIN c.events e
+                LEFT JOIN FETCH e.category
+                LEFT JOIN FETCH e.initiator
+                WHERE c.id IN ?1
+            """)
+    List<Object[]> findEventsByCompilationIdIn(Collection<Long> compilationIds);
 }
\ No newline at end of file
@@ -5,15 +5,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.cache.PublicResponseCache;
 import ru.practicum.ewm.compilation.dto.CompilationCreateDto;
 import ru.practicum.ewm.compilation.dto.CompilationDto;
 import ru.practicum.ewm.compilation.dto.CompilationMapper;
 import ru.practicum.ewm.compilation.model.Compilation;
 import ru.practicum.ewm.compilation.repository.CompilationRepository;
-import ru.practicum.ewm.event.dto.EventMapper;
 import ru.practicum.ewm.event.dto.EventShortDto;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.service.EventService;
 import ru.practicum.ewm.exception.NotFoundException;
 
 import java.util.*;
@@ -28,7 +29,8 @@ public class CompilationServiceImp implements CompilationService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
     private final CompilationMapper compilationMapper;
-    private final EventMapper eventMapper;
+    private final EventService eventService;
+    private final PublicResponseCache responseCache;
 
     @Override
     public CompilationDto create(CompilationCreateDto newCompilationDto) {
@@ -39,12 +41,9 @@ public class CompilationServiceImp implements CompilationService {
         compilation.setPinned(Optional.ofNullable(compilation.getPinned()).orElse(false));
         Compilation savedCompilation = compilationRepository.save(compilation);
         log.info("Подборка сохранена: {}", savedCompilation);
+        responseCache.invalidateAfterCommit(PublicResponseCache.COMPILATIONS);
 
-        List<EventShortDto> eventShortDtoList = events.stream()
-                .map(eventMapper::toShortDto)
-                .collect(Collectors.toList());
-
-        return compilationMapper.toCompilationDto(savedCompilation, eventShortDtoList);
+        return toCompilationDtos(List.of(savedCompilation)).get(0);
     }
 
     @Override
@@ -64,11 +63,9 @@ public class CompilationServiceImp implements CompilationService {
         compilation.setTitle(Optional.ofNullable(updateCompilationRequest.getTitle()).orElse(compilation.getTitle()));
         Compilation updatedCompilation = compilationRepository.save(compilation);
         log.info("Подборка обновлена: {}", compilation);
-        List<EventShortDto> eventShortDtoList = updatedCompilation.getEvents().stream()
-                .map(eventMapper::toShortDto)
-                .collect(Collectors.toList());
+        responseCache.invalidateAfterCommit(PublicResponseCache.COMPILATIONS);
 
-        return compilationMapper.toCompilationDto(updatedCompilation, eventShortDtoList);
+        return toCompilationDtos(List.of(updatedCompilation)).get(0);
     }
 
     @Override
@@ -77,6 +74,7 @@ public class CompilationServiceImp implements CompilationService {
             throw new NotFoundException("Подборки с id " + id + " не существует");
         }
         compilationRepository.deleteById(id);
+        responseCache.invalidateAfterCommit(PublicResponseCache.COMPILATIONS);
         log.info("Подборка с id: {} успешно удален", id);
     }
 
@@ -95,15 +93,7 @@ public class CompilationServiceImp implements CompilationService {
             log.info("Получены все подборки: {}", compilations);
 
         }
-        return compilations.stream()
-                .map(compilation -> {
-                    List<EventShortDto> eventShortDtoList = compilation.getEvents().stream()
-                            .map(eventMapper::toShortDto)
-                            .collect(Collectors.toList());
-
-                    return compilationMapper.toCompilationDto(compilation, eventShortDtoList);
-                })
-                .collect(Collectors.toList());
+        return toCompilationDtos(compilations);
     }
 
     @Transactional(readOnly = true)
@@ -114,10 +104,45 @@ public class CompilationServiceImp implements CompilationService {
 
         log.info("Подборка найдена: {}", compilation);
 
-        List<EventShortDto> eventShortDtoList = compilation.getEvents().stream()
-                .map(eventMapper::toShortDto)
+        return toCompilationDtos(List.of(compilation)).get(0);
+    }
+
+    /**
+     * События всех подборок загружаются одним запросом вместе с категорией и инициатором,
+     * просмотры и подтверждённые заявки — пакетно для всех различных событий.
+     */
+    private List<CompilationDto> toCompilationDtos(List<Compilation> compilations) {
+        if (compilations.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> compilationIds = compilations.stream().map(Compilation::getId).collect(Collectors.toList());
+
+        Map<Long, List<Event>> eventsByCompilation = new HashMap<>();
+        Map<Long, Event> distinctEvents = new HashMap<>();
+        for (Object[] row : compilationRepository.findEventsByCompilationIdIn(compilationIds)) {
+            Event event = (Event) row[1];
+            eventsByCompilation.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(event);
+            distinctEvents.putIfAbsent(event.getId(), event);
+        }
+
+        Map<Long, EventShortDto> eventDtos = eventService.toShortDtos(new ArrayList<>(distinctEvents.values())).stream()
+                .collect(Collectors.toMap(EventShortDto::getId, dto -> dto));
+
+        return compilations.stream()
+                .map(compilation -> {
+                    List<EventShortDto> eventShortDtoList = sortById(
+                            eventsByCompilation.getOrDefault(compilation.getId(), new ArrayList<>())).stream()
+                            .map(event -> eventDtos.get(event.getId()))
+                            .collect(Collectors.toList());
+
+                    return compilationMapper.toCompilationDto(compilation, eventShortDtoList);
+                })
                 .collect(Collectors.toList());
+    }
 
-        return compilationMapper.toCompilationDto(compilation, eventShortDtoList);
+    // порядок событий в ответе не зависит от порядка в Set, иначе ETag ответа менялся бы без изменения данных
+    private List<Event> sortById(List<Event> events) {
+        events.sort(Comparator.comparing(Event::getId));
+        return events;
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package ru.practicum.ewm.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Отдельный JCache CacheManager для каждой SessionFactory.
+ * Провайдер Caffeine выдаёт один менеджер на URI, а Hibernate закрывает его вместе с SessionFactory,
+ * поэтому при общем URI закрытие одного контекста (например, в тестах) ломает кэш второго уровня в остальных.
+ * Для URI, не указывающего на файл или ресурс, настройки регионов по-прежнему читаются из application.conf.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final String CACHE_MANAGER = "hibernate.javax.cache.cache_manager";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("ewm-main-svc-" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -1,10 +1,13 @@
 package ru.practicum.ewm.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.ewm.event.dto.EventCursor;
+import ru.practicum.ewm.event.dto.EventCursorPage;
 import ru.practicum.ewm.event.dto.EventFullDto;
 import ru.practicum.ewm.event.dto.EventSearchDto;
 import ru.practicum.ewm.event.dto.UpdateEventRequest;
@@ -21,9 +24,19 @@ public class AdminEventController {
 
     @GetMapping
     public Collection<EventFullDto> findAllByAdmin(@Valid EventSearchDto searchEventParams,
-                                                   HttpServletRequest request) {
+                                                   HttpServletRequest request,
+                                                   HttpServletResponse response) {
         log.info("Запрос на получения событий с фильтром");
-        Collection<EventFullDto> events = eventService.findAllByAdmin(searchEventParams, request);
+        Collection<EventFullDto> events;
+        if (searchEventParams.getCursor() != null) {
+            EventCursorPage<EventFullDto> page = eventService.findAllByAdminWithCursor(searchEventParams, request);
+            if (page.nextCursor() != null) {
+                response.setHeader(EventCursor.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            events = page.events();
+        } else {
+            events = eventService.findAllByAdmin(searchEventParams, request);
+        }
         log.info("Отправлен ответ: {}", events);
         return events;
     }
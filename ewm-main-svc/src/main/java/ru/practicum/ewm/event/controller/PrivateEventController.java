@@ -1,6 +1,7 @@
 package ru.practicum.ewm.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -9,6 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.event.dto.EventCreateDto;
+import ru.practicum.ewm.event.dto.EventCursor;
+import ru.practicum.ewm.event.dto.EventCursorPage;
 import ru.practicum.ewm.event.dto.EventFullDto;
 import ru.practicum.ewm.event.dto.EventShortDto;
 import ru.practicum.ewm.event.dto.UpdateEventRequest;
@@ -51,13 +54,25 @@ public class PrivateEventController {
     public Collection<EventShortDto> findAllByPrivate(
             @PathVariable Long userId,
             @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(required = false, defaultValue = "10") @Positive Integer size, HttpServletRequest request
+            @RequestParam(required = false, defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest request, HttpServletResponse response
     ) {
         log.info("Запрос событий пользователя {}" +
                         "\nfrom: {}" +
-                        "\nsize: {}",
-                userId, from, size);
-        Collection<EventShortDto> events = eventService.findAllByPrivate(userId, from, size, request);
+                        "\nsize: {}" +
+                        "\ncursor: {}",
+                userId, from, size, cursor);
+        Collection<EventShortDto> events;
+        if (cursor != null) {
+            EventCursorPage<EventShortDto> page = eventService.findAllByPrivateWithCursor(userId, cursor, size, request);
+            if (page.nextCursor() != null) {
+                response.setHeader(EventCursor.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            events = page.events();
+        } else {
+            events = eventService.findAllByPrivate(userId, from, size, request);
+        }
         log.info("Результат: {}", events);
         return events;
     }
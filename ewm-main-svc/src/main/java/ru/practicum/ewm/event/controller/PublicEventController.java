@@ -1,6 +1,7 @@
 package ru.practicum.ewm.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,10 +9,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.ewm.event.dto.EventCursor;
+import ru.practicum.ewm.event.dto.EventCursorPage;
 import ru.practicum.ewm.event.dto.EventFullDto;
 import ru.practicum.ewm.event.dto.EventSearchDto;
 import ru.practicum.ewm.event.dto.EventShortDto;
 import ru.practicum.ewm.event.service.EventService;
+import ru.practicum.stat.StatisticsClient;
 
 import java.util.Collection;
 
@@ -23,12 +27,24 @@ import java.util.Collection;
 public class PublicEventController {
 
     private final EventService eventService;
+    private final StatisticsClient statisticsClient;
 
     @GetMapping
     public Collection<EventShortDto> findAllByPublic(@Valid EventSearchDto searchEventParams,
-                                                     HttpServletRequest request) {
+                                                     HttpServletRequest request,
+                                                     HttpServletResponse response) {
         log.info("Запрос на получения событий с фильтром");
-        Collection<EventShortDto> events = eventService.findAllByPublic(searchEventParams, request);
+        Collection<EventShortDto> events;
+        if (searchEventParams.getCursor() != null) {
+            EventCursorPage<EventShortDto> page = eventService.findAllByPublicWithCursor(searchEventParams, request);
+            if (page.nextCursor() != null) {
+                response.setHeader(EventCursor.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            events = page.events();
+        } else {
+            events = eventService.findAllByPublic(searchEventParams, request);
+        }
+        registerHit(request);
         log.info("Отправлен ответ с телом: {}", events);
         return events;
     }
@@ -40,4 +56,16 @@ public class PublicEventController {
         log.info("Отправлен ответ телом: {}", eventId, event);
         return event;
     }
-}
\ No newline at end of file
+
+    /**
+     * Хит отправляется после завершения транзакции поиска: при синхронной отправке
+     * блокирующий вызов сервиса статистики не удерживает соединение с базой.
+     */
+    private void registerHit(HttpServletRequest request) {
+        try {
+            statisticsClient.registerHit(request);
+        } catch (Exception e) {
+            log.error("Ошибка при отправке статистики: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.ewm.event.dto;
+
+import ru.practicum.ewm.exception.IncorrectRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор для постраничной выборки событий по ключу (keyset).
+ * Хранит тип сортировки, значение ключа сортировки и id последнего события страницы.
+ */
+public record EventCursor(String sort, String key, Long id) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sort + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return {@code null} для пустого курсора (первая страница)
+     */
+    public static EventCursor decode(String token, String expectedSort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+                throw new IncorrectRequestException("Курсор не соответствует сортировке " + expectedSort);
+            }
+            return new EventCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IncorrectRequestException("Некорректный курсор: " + token);
+        }
+    }
+}
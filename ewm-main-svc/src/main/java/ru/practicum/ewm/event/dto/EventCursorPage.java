@@ -0,0 +1,9 @@
+package ru.practicum.ewm.event.dto;
+
+import java.util.List;
+
+/**
+ * Страница событий и курсор следующей страницы; {@code nextCursor == null}, если страница последняя.
+ */
+public record EventCursorPage<T>(List<T> events, String nextCursor) {
+}
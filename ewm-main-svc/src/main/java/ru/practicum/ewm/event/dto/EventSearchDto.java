@@ -30,4 +30,15 @@ public class EventSearchDto {
     private int size = 10;
     private List<Long> users;
     private List<EventState> states;
+    /**
+     * Курсор keyset-пагинации; пустая строка — первая страница. Если задан, from игнорируется.
+     */
+    private String cursor;
+    private Double lat;
+    private Double lon;
+    /**
+     * Радиус поиска вокруг точки lat, lon в километрах; задаётся вместе с координатами.
+     */
+    @Positive
+    private Double radius;
 }
@@ -63,7 +63,11 @@ public class Event {
     @Column(name = "published_on")
     private LocalDateTime publishedOn;
 
-    @Column(name = "confirmed_requests")
+    /**
+     * Счётчики меняются только отдельными UPDATE-запросами, поэтому при сохранении события не перезаписываются.
+     */
+    @Column(name = "confirmed_requests", updatable = false)
     private int confirmedRequests;
+    @Column(updatable = false)
     private long views;
 }
@@ -0,0 +1,24 @@
+package ru.practicum.ewm.event.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Момент, до которого фоновая синхронизация уже обработала данные.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sync_watermarks")
+public class SyncWatermark {
+    @Id
+    @Column(length = 64)
+    private String name;
+    @Column(name = "synced_until", nullable = false)
+    private LocalDateTime syncedUntil;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.ewm.event.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.event.model.Event;
+
+import java.util.List;
+
+public interface EventKeysetRepository {
+
+    /**
+     * Первые {@code limit} событий по условию без запроса общего количества и без OFFSET.
+     * Инициатор, категория и локация загружаются тем же запросом.
+     */
+    List<Event> findFirst(Specification<Event> spec, Sort sort, int limit);
+}
@@ -1,20 +1,27 @@
 package ru.practicum.ewm.event.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.utils.EventState;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventKeysetRepository,
+        EventViewsRepository {
+    @EntityGraph(attributePaths = {"initiator", "category", "location"})
     @Query("""
                 SELECT e
                 FROM Event AS e
@@ -33,13 +40,59 @@ public interface EventRepository extends JpaRepository<Event, Long> {
             Pageable pageable
     );
 
+    @EntityGraph(attributePaths = {"initiator", "category"})
     List<Event> findAllByInitiatorId(Long initiatorId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"initiator", "category"})
     List<Event> findAllByIdIn(List<Long> eventIds);
 
     boolean existsByCategoryId(Long id);
 
+    @Query("SELECT MIN(e.createdOn) FROM Event e")
+    Optional<LocalDateTime> findEarliestCreatedOn();
+
+    @Query("SELECT MIN(e.createdOn) FROM Event e WHERE e.id IN ?1")
+    Optional<LocalDateTime> findEarliestCreatedOn(Collection<Long> eventIds);
+
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
+    @EntityGraph(attributePaths = {"initiator", "category"})
     Page<Event> findAll(Specification<Event> spec, Pageable pageable);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + ?2 WHERE e.id = ?1")
+    int addConfirmedRequests(Long eventId, int delta);
+
+    /**
+     * Занимает {@code count} мест, только если лимит участников не будет превышен.
+     * Проверка и увеличение счётчика выполняются одним UPDATE под блокировкой строки события.
+     *
+     * @return 1, если места заняты, иначе 0
+     */
+    @Modifying
+    @Query("""
+                UPDATE Event e
+                SET e.confirmedRequests = e.confirmedRequests + ?2
+                WHERE e.id = ?1
+                    AND (e.participantLimit = 0 OR e.confirmedRequests + ?2 <= e.participantLimit)
+            """)
+    int tryAddConfirmedRequests(Long eventId, int count);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = ?1")
+    Optional<Event> findByIdForUpdate(Long eventId);
+
+    @Query(value = "SELECT id FROM events WHERE id > ?1 ORDER BY id LIMIT ?2 FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsAfter(Long afterId, int limit);
+
+    @Modifying
+    @Query(value = """
+                UPDATE events
+                SET confirmed_requests = (SELECT COUNT(*) FROM requests r
+                                          WHERE r.event_id = events.id AND r.status = 'CONFIRMED')
+                WHERE id IN ?1
+                    AND confirmed_requests <> (SELECT COUNT(*) FROM requests r
+                                               WHERE r.event_id = events.id AND r.status = 'CONFIRMED')
+            """, nativeQuery = true)
+    int reconcileConfirmedRequests(List<Long> eventIds);
+}
@@ -0,0 +1,38 @@
+package ru.practicum.ewm.event.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Регистрирует функции полнотекстового поиска по событиям для PostgreSQL.
+ * Выражение tsvector совпадает с выражением индекса idx_events_search, иначе индекс не будет использован.
+ * Конфигурация russian стеммит кириллицу русским словарём, а латиницу — английским.
+ */
+public class EventSearchFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_FUNCTION = "event_search_match";
+    public static final String RANK_FUNCTION = "event_search_rank";
+
+    public static String searchVector(String title, String annotation, String description) {
+        return "(setweight(to_tsvector('russian', coalesce(" + title + ", '')), 'A')"
+                + " || setweight(to_tsvector('russian', coalesce(" + annotation + ", '')), 'B')"
+                + " || setweight(to_tsvector('russian', coalesce(" + description + ", '')), 'C'))";
+    }
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+        String vector = searchVector("?1", "?2", "?3");
+        String query = "websearch_to_tsquery('russian', ?4)";
+        functionContributions.getFunctionRegistry().registerPattern(MATCH_FUNCTION,
+                "(" + vector + " @@ " + query + ")",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(RANK_FUNCTION,
+                "ts_rank_cd(" + vector + ", " + query + ")",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.ewm.event.repository;
+
+import java.util.Map;
+
+public interface EventViewsRepository {
+
+    /**
+     * Пакетно записывает количество просмотров в events.views.
+     */
+    void updateViews(Map<Long, Long> viewsByEventId);
+}
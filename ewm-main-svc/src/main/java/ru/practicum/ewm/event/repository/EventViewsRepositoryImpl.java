@@ -0,0 +1,25 @@
+package ru.practicum.ewm.event.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class EventViewsRepositoryImpl implements EventViewsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void updateViews(Map<Long, Long> viewsByEventId) {
+        if (viewsByEventId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(viewsByEventId.size());
+        viewsByEventId.forEach((eventId, views) -> args.add(new Object[]{views, eventId, views}));
+        // неизменившиеся строки не перезаписываются
+        jdbcTemplate.batchUpdate("UPDATE events SET views = ? WHERE id = ? AND views <> ?", args);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.ewm.event.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.location.model.Location;
+
+import static ru.practicum.ewm.location.repository.LocationFunctionContributor.*;
+
+/**
+ * Поиск событий в радиусе от точки.
+ * Сначала локации отбираются по ограничивающему прямоугольнику: на PostgreSQL по GiST-индексу idx_locations_point,
+ * на остальных базах — по индексу idx_locations_lat_lon. Затем точное расстояние по дуге большого круга
+ * проверяется только для попавших в прямоугольник локаций.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventGeoSearch {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile Boolean spatialIndex;
+
+    public Predicate within(Root<Event> root, CriteriaBuilder criteriaBuilder, double lat, double lon, double radiusKm) {
+        Join<Event, Location> location = root.join("location");
+        BoundingBox box = BoundingBox.around(lat, lon, radiusKm);
+
+        Predicate inBox;
+        if (isSpatialIndex()) {
+            inBox = criteriaBuilder.isTrue(criteriaBuilder.function(IN_BOX_FUNCTION, Boolean.class,
+                    location.get("longitude"), location.get("latitude"),
+                    criteriaBuilder.literal(box.minLon()), criteriaBuilder.literal(box.minLat()),
+                    criteriaBuilder.literal(box.maxLon()), criteriaBuilder.literal(box.maxLat())));
+        } else {
+            inBox = criteriaBuilder.and(
+                    criteriaBuilder.between(location.<Float>get("latitude"), (float) box.minLat(), (float) box.maxLat()),
+                    criteriaBuilder.between(location.<Float>get("longitude"), (float) box.minLon(), (float) box.maxLon()));
+        }
+
+        return criteriaBuilder.and(inBox, criteriaBuilder.le(
+                criteriaBuilder.function(DISTANCE_FUNCTION, Double.class,
+                        location.get("latitude"), location.get("longitude"),
+                        criteriaBuilder.literal(lat), criteriaBuilder.literal(lon)),
+                radiusKm));
+    }
+
+    private boolean isSpatialIndex() {
+        if (spatialIndex == null) {
+            spatialIndex = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        }
+        return spatialIndex;
+    }
+
+    /**
+     * Прямоугольник, содержащий круг заданного радиуса.
+     * Если круг захватывает полюс или пересекает 180-й меридиан, берётся весь диапазон долгот.
+     */
+    record BoundingBox(double minLat, double minLon, double maxLat, double maxLon) {
+
+        static BoundingBox around(double lat, double lon, double radiusKm) {
+            double angle = radiusKm / EARTH_RADIUS_KM;
+            double minLat = lat - Math.toDegrees(angle);
+            double maxLat = lat + Math.toDegrees(angle);
+            if (minLat <= -90 || maxLat >= 90) {
+                return new BoundingBox(Math.max(minLat, -90), -180, Math.min(maxLat, 90), 180);
+            }
+            double lonDelta = Math.toDegrees(Math.asin(Math.sin(angle) / Math.cos(Math.toRadians(lat))));
+            if (lon - lonDelta < -180 || lon + lonDelta > 180) {
+                return new BoundingBox(minLat, -180, maxLat, 180);
+            }
+            return new BoundingBox(minLat, lon - lonDelta, maxLat, lon + lonDelta);
+        }
+    }
+}
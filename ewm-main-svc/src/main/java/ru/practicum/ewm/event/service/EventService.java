@@ -2,8 +2,10 @@ package ru.practicum.ewm.event.service;
 
 import jakarta.servlet.http.HttpServletRequest;
 import ru.practicum.ewm.event.dto.*;
+import ru.practicum.ewm.event.model.Event;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface EventService {
     EventFullDto create(Long userId, EventCreateDto eventCreateDto);
@@ -22,4 +24,16 @@ public interface EventService {
 
     EventFullDto findEventById(Long eventId, HttpServletRequest request);
 
+    EventCursorPage<EventShortDto> findAllByPublicWithCursor(EventSearchDto searchDto, HttpServletRequest request);
+
+    EventCursorPage<EventShortDto> findAllByPrivateWithCursor(Long userId, String cursor, Integer size, HttpServletRequest request);
+
+    EventCursorPage<EventFullDto> findAllByAdminWithCursor(EventSearchDto searchDto, HttpServletRequest request);
+
+    /**
+     * Краткие представления событий с просмотрами и подтверждёнными заявками, полученными пакетно.
+     * Категория и инициатор событий должны быть уже загружены.
+     */
+    List<EventShortDto> toShortDtos(List<Event> events);
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.ewm.event.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -8,10 +9,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.cache.PublicResponseCache;
 import ru.practicum.ewm.categories.dto.CategoryMapper;
 import ru.practicum.ewm.categories.model.Category;
 import ru.practicum.ewm.categories.repository.CategoryRepository;
@@ -23,6 +25,7 @@ import ru.practicum.ewm.location.dto.LocationMapper;
 import ru.practicum.ewm.location.model.Location;
 import ru.practicum.ewm.location.repository.LocationRepository;
 import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.request.service.ConfirmedRequestsReconciliationJob;
 import ru.practicum.ewm.user.dto.UserMapper;
 import ru.practicum.ewm.user.model.User;
 import ru.practicum.ewm.user.repository.UserRepository;
@@ -30,11 +33,12 @@ import ru.practicum.ewm.utils.EventState;
 import ru.practicum.ewm.utils.RequestStatus;
 import ru.practicum.ewm.utils.StateAction;
 import ru.practicum.stat.StatisticsClient;
-import ru.practicum.stat.ViewStatsDto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -45,6 +49,8 @@ public class EventServiceImp implements EventService {
 
     static DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     static int MIN_HOURS_BEFORE_EVENT = 2;
+    static final String CURSOR_SORT_ID = "ID";
+    static final String EVENTS_URI = "/events";
 
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
@@ -55,8 +61,13 @@ public class EventServiceImp implements EventService {
     private final LocationMapper locationMapper;
     private final CategoryMapper categoryMapper;
     private final UserMapper userMapper;
-    private final ObjectMapper mapper;
     private final StatisticsClient statisticsClient;
+    private final EventViewsCache eventViewsCache;
+    private final EventViewsSync eventViewsSync;
+    private final ConfirmedRequestsReconciliationJob confirmedRequestsReconciliationJob;
+    private final EventTextSearch eventTextSearch;
+    private final EventGeoSearch eventGeoSearch;
+    private final PublicResponseCache responseCache;
 
     @Override
     public EventFullDto create(Long userId, EventCreateDto newEventDto) {
@@ -92,6 +103,7 @@ public class EventServiceImp implements EventService {
         processStateAction(event, adminRequest.getStateAction());
 
         Event updatedEvent = eventRepository.save(event);
+        responseCache.invalidateAfterCommit(PublicResponseCache.COMPILATIONS);
         return eventMapper.toFullDto(updatedEvent);
     }
 
@@ -110,6 +122,7 @@ public class EventServiceImp implements EventService {
         processStateAction(event, eventUserRequest.getStateAction());
 
         Event updatedEvent = eventRepository.save(event);
+        responseCache.invalidateAfterCommit(PublicResponseCache.COMPILATIONS);
         return eventMapper.toFullDto(updatedEvent);
     }
 
@@ -128,7 +141,75 @@ public class EventServiceImp implements EventService {
 
     @Override
     public Collection<EventShortDto> findAllByPublic(EventSearchDto params, HttpServletRequest request) {
+        validatePublicParams(params);
 
+        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize(), publicSort(params.getSort()));
+        Page<Event> eventPage = eventRepository.findAll(publicSpecification(params), pageable);
+
+        return toPublicShortDtos(eventPage.getContent(), params.getSort(), request);
+    }
+
+    @Override
+    public EventCursorPage<EventShortDto> findAllByPublicWithCursor(EventSearchDto params, HttpServletRequest request) {
+        validatePublicParams(params);
+
+        String sort = params.getSort() == null ? CURSOR_SORT_ID : params.getSort().toUpperCase();
+        List<Event> events = findPageByCursor(publicSpecification(params), sort, params.getCursor(), params.getSize());
+
+        return new EventCursorPage<>(toPublicShortDtos(events, sort, request), nextCursor(events, sort, params.getSize()));
+    }
+
+    @Override
+    public Collection<EventShortDto> findAllByPrivate(Long userId, Integer from, Integer size, HttpServletRequest request) {
+
+        User user = getUserById(userId);
+        Pageable pageable = PageRequest.of(from, size);
+        List<Event> events = eventRepository.findAllByInitiatorId(user.getId(), pageable);
+
+        return toPrivateShortDtos(events, request);
+    }
+
+    @Override
+    public EventCursorPage<EventShortDto> findAllByPrivateWithCursor(Long userId, String cursor, Integer size,
+                                                                     HttpServletRequest request) {
+        User user = getUserById(userId);
+        Specification<Event> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("initiator").get("id"), user.getId());
+        List<Event> events = findPageByCursor(spec, CURSOR_SORT_ID, cursor, size);
+
+        return new EventCursorPage<>(toPrivateShortDtos(events, request), nextCursor(events, CURSOR_SORT_ID, size));
+    }
+
+    @Override
+    public Collection<EventFullDto> findAllByAdmin(EventSearchDto params, HttpServletRequest request) {
+        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize());
+
+        List<Event> eventList;
+        try {
+            eventList = eventRepository.findAllByAdmin(
+                    params.getUsers(),
+                    params.getStates(),
+                    params.getCategories(),
+                    params.getRangeStart(),
+                    params.getRangeEnd(),
+                    pageable
+            );
+        } catch (Exception e) {
+            log.error("Ошибка при выполнении запроса к БД: ", e);
+            throw new RuntimeException("Ошибка при получении данных из базы данных", e);
+        }
+
+        return toAdminFullDtos(eventList, request);
+    }
+
+    @Override
+    public EventCursorPage<EventFullDto> findAllByAdminWithCursor(EventSearchDto params, HttpServletRequest request) {
+        List<Event> events = findPageByCursor(adminSpecification(params), CURSOR_SORT_ID, params.getCursor(), params.getSize());
+
+        return new EventCursorPage<>(toAdminFullDtos(events, request), nextCursor(events, CURSOR_SORT_ID, params.getSize()));
+    }
+
+    private void validatePublicParams(EventSearchDto params) {
         if (params.getRangeStart() != null && params.getRangeEnd() != null && params.getRangeStart().isAfter(params.getRangeEnd())) {
             throw new IllegalArgumentException("rangeStart должен быть раньше rangeEnd");
         }
@@ -137,23 +218,38 @@ public class EventServiceImp implements EventService {
             throw new IncorrectRequestException("Unknown sort type");
         }
 
-        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize());
-        Specification<Event> spec = (root, query, criteriaBuilder) -> {
+        if (params.getLat() != null || params.getLon() != null || params.getRadius() != null) {
+            if (params.getLat() == null || params.getLon() == null || params.getRadius() == null) {
+                throw new IncorrectRequestException("Для поиска по месту нужно задать lat, lon и radius");
+            }
+            if (Math.abs(params.getLat()) > 90 || Math.abs(params.getLon()) > 180) {
+                throw new IncorrectRequestException("Некорректные координаты: " + params.getLat() + ", " + params.getLon());
+            }
+        }
+    }
+
+    private Specification<Event> publicSpecification(EventSearchDto params) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(criteriaBuilder.equal(root.get("state"), EventState.PUBLISHED));
 
 
-            if (params.getText() != null) {
-                predicates.add(criteriaBuilder.or(
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("annotation")), "%" + params.getText().toLowerCase() + "%"),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + params.getText().toLowerCase() + "%")
-                ));
+            if (params.getText() != null && !params.getText().isBlank()) {
+                predicates.add(eventTextSearch.matches(root, criteriaBuilder, params.getText()));
+                if (params.getSort() == null && !Long.class.equals(query.getResultType())) {
+                    eventTextSearch.rankOrder(root, criteriaBuilder, params.getText()).ifPresent(query::orderBy);
+                }
             }
 
             if (params.getCategories() != null && !params.getCategories().isEmpty()) {
                 predicates.add(root.get("category").get("id").in(params.getCategories()));
             }
 
+            if (params.getRadius() != null) {
+                predicates.add(eventGeoSearch.within(root, criteriaBuilder,
+                        params.getLat(), params.getLon(), params.getRadius()));
+            }
+
             if (params.getPaid() != null) {
                 predicates.add(criteriaBuilder.equal(root.get("paid"), params.getPaid()));
             }
@@ -173,41 +269,163 @@ public class EventServiceImp implements EventService {
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        Page<Event> eventPage = eventRepository.findAll(spec, pageable);
+    /**
+     * Те же условия, что и в {@link EventRepository#findAllByAdmin}.
+     */
+    private Specification<Event> adminSpecification(EventSearchDto params) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
 
-        sendStats(request);
+            if (params.getUsers() != null && !params.getUsers().isEmpty()) {
+                predicates.add(root.get("initiator").get("id").in(params.getUsers()));
+            }
+            if (params.getStates() != null && !params.getStates().isEmpty()) {
+                predicates.add(root.get("state").in(params.getStates()));
+            }
+            if (params.getCategories() != null && !params.getCategories().isEmpty()) {
+                predicates.add(root.get("category").get("id").in(params.getCategories()));
+            }
+            if (params.getRangeStart() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("eventDate"), params.getRangeStart()));
+            }
+            if (params.getRangeEnd() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("eventDate"), params.getRangeEnd()));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 
-        List<EventShortDto> eventShortDtoList = eventPage.getContent().stream()
+    /**
+     * Страница событий после позиции курсора: {@code WHERE (key, id) > (?, ?) ORDER BY key, id LIMIT size}
+     * (для просмотров ключ сравнивается в обратную сторону, т.к. сортировка по убыванию).
+     * Сравнение кортежей записано как {@code key >= ? AND (key > ? OR id > ?)},
+     * чтобы индекс по (key, id) начинал просмотр сразу с позиции курсора.
+     */
+    private List<Event> findPageByCursor(Specification<Event> spec, String sort, String token, int size) {
+        EventCursor cursor = EventCursor.decode(token, sort);
+        Specification<Event> pageSpec = cursor == null ? spec : spec.and(seekAfter(sort, cursor));
+        Sort order = CURSOR_SORT_ID.equals(sort) ? Sort.by("id") : publicSort(sort);
+        return eventRepository.findFirst(pageSpec, order, size);
+    }
+
+    /**
+     * Сортировка выполняется в БД до пагинации: по дате события по возрастанию
+     * или по просмотрам по убыванию, id — для однозначного порядка при равных ключах.
+     * Без сортировки сохраняется порядок по релевантности текстового поиска.
+     */
+    private static Sort publicSort(String sort) {
+        if ("EVENT_DATE".equalsIgnoreCase(sort)) {
+            return Sort.by(Sort.Order.asc("eventDate"), Sort.Order.asc("id"));
+        }
+        if ("VIEWS".equalsIgnoreCase(sort)) {
+            return Sort.by(Sort.Order.desc("views"), Sort.Order.asc("id"));
+        }
+        return Sort.unsorted();
+    }
+
+    private static Specification<Event> seekAfter(String sort, EventCursor cursor) {
+        Long lastId = cursor.id();
+        try {
+            switch (sort) {
+                case "EVENT_DATE": {
+                    LocalDateTime lastDate = LocalDateTime.parse(cursor.key());
+                    return (root, query, criteriaBuilder) -> keysetAfter(criteriaBuilder, root.get("id"),
+                            root.<LocalDateTime>get("eventDate"), lastDate, lastId, false);
+                }
+                case "VIEWS": {
+                    Long lastViews = Long.parseLong(cursor.key());
+                    return (root, query, criteriaBuilder) -> keysetAfter(criteriaBuilder, root.get("id"),
+                            root.<Long>get("views"), lastViews, lastId, true);
+                }
+                default:
+                    return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), lastId);
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IncorrectRequestException("Некорректный курсор: " + cursor.encode());
+        }
+    }
+
+    private static <T extends Comparable<? super T>> Predicate keysetAfter(CriteriaBuilder criteriaBuilder,
+                                                                           Path<Long> id,
+                                                                           Path<T> key,
+                                                                           T lastKey,
+                                                                           Long lastId,
+                                                                           boolean descending) {
+        if (descending) {
+            return criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(key, lastKey),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(key, lastKey),
+                            criteriaBuilder.greaterThan(id, lastId)
+                    ));
+        }
+        return criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(key, lastKey),
+                criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(key, lastKey),
+                        criteriaBuilder.greaterThan(id, lastId)
+                ));
+    }
+
+    private static String nextCursor(List<Event> events, String sort, int size) {
+        if (events.size() < size) {
+            return null;
+        }
+        Event last = events.getLast();
+        String key = switch (sort) {
+            case "EVENT_DATE" -> last.getEventDate().toString();
+            case "VIEWS" -> String.valueOf(last.getViews());
+            default -> "";
+        };
+        return new EventCursor(sort, key, last.getId()).encode();
+    }
+
+    /**
+     * При сортировке по просмотрам на странице показываются значения events.views, по которым она отсортирована.
+     * Пока синхронизация выключена или отстала, эти значения устаревшие: отставание видно
+     * по метрике events.views.sync.lag, а такие запросы считаются в events.views.sort.stale.
+     */
+    private List<EventShortDto> toPublicShortDtos(List<Event> events, String sort, HttpServletRequest request) {
+        if (!"VIEWS".equalsIgnoreCase(sort)) {
+            return toPublicShortDtos(events, request);
+        }
+        if (!eventViewsSync.isFresh()) {
+            eventViewsSync.recordStaleSort();
+        }
+        return toPublicShortDtos(events, events.stream()
+                .collect(Collectors.toMap(Event::getId, Event::getViews)));
+    }
+
+    private List<EventShortDto> toPublicShortDtos(List<Event> events, HttpServletRequest request) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return toPublicShortDtos(events, getViewsForEvents(events, request.getRequestURI()).join());
+    }
+
+    private List<EventShortDto> toPublicShortDtos(List<Event> events, Map<Long, Long> viewsMap) {
+        return events.stream()
                 .map(event -> {
                     EventShortDto eventDto = eventMapper.toShortDto(event);
-                    eventDto.setViews(getViews(event.getId(), event.getCreatedOn(), request));
+                    eventDto.setViews(viewsMap.getOrDefault(event.getId(), 0L));
                     eventDto.setConfirmedRequests(eventDto.getConfirmedRequests());
                     return eventDto;
                 })
                 .collect(Collectors.toList());
-
-        if ("EVENT_DATE".equalsIgnoreCase(params.getSort())) {
-            eventShortDtoList.sort(Comparator.comparing(EventShortDto::getEventDate));
-        } else if ("VIEWS".equalsIgnoreCase(params.getSort())) {
-            eventShortDtoList.sort(Comparator.comparing(EventShortDto::getViews));
-        }
-
-        return eventShortDtoList;
     }
 
-    @Override
-    public Collection<EventShortDto> findAllByPrivate(Long userId, Integer from, Integer size, HttpServletRequest request) {
-
-        User user = getUserById(userId);
-        Pageable pageable = PageRequest.of(from, size);
-        List<Event> events = eventRepository.findAllByInitiatorId(user.getId(), pageable);
-
-        List<Long> eventIds = events.stream().map(Event::getId).collect(Collectors.toList());
+    private List<EventShortDto> toPrivateShortDtos(List<Event> events, HttpServletRequest request) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CompletableFuture<Map<Long, Long>> viewsFuture = getViewsForEvents(events, request.getRequestURI());
 
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsForEvents(eventIds);
+        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsForEvents(events);
 
-        Map<Long, Long> viewsMap = getViewsForEvents(events, request);
+        Map<Long, Long> viewsMap = viewsFuture.join();
 
         return events.stream()
                 .map(event -> {
@@ -221,30 +439,15 @@ public class EventServiceImp implements EventService {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
-    @Override
-    public Collection<EventFullDto> findAllByAdmin(EventSearchDto params, HttpServletRequest request) {
-        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize());
-
-        List<Event> eventList;
-        try {
-            eventList = eventRepository.findAllByAdmin(
-                    params.getUsers(),
-                    params.getStates(),
-                    params.getCategories(),
-                    params.getRangeStart(),
-                    params.getRangeEnd(),
-                    pageable
-            );
-        } catch (Exception e) {
-            log.error("Ошибка при выполнении запроса к БД: ", e);
-            throw new RuntimeException("Ошибка при получении данных из базы данных", e);
+    private List<EventFullDto> toAdminFullDtos(List<Event> eventList, HttpServletRequest request) {
+        if (eventList.isEmpty()) {
+            return new ArrayList<>();
         }
+        CompletableFuture<Map<Long, Long>> viewsFuture = getViewsForEvents(eventList, request.getRequestURI());
 
-        List<Long> eventIds = eventList.stream().map(Event::getId).collect(Collectors.toList());
-
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsForEvents(eventIds);
+        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsForEvents(eventList);
 
-        Map<Long, Long> viewsMap = getViewsForEvents(eventList, request);
+        Map<Long, Long> viewsMap = viewsFuture.join();
 
         return eventList.stream()
                 .map(event -> {
@@ -256,7 +459,39 @@ public class EventServiceImp implements EventService {
                 .collect(Collectors.toList());
     }
 
-    private Map<Long, Long> getConfirmedRequestsForEvents(List<Long> eventIds) {
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventShortDto> toShortDtos(List<Event> events) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // просмотры считаются по публичному URI события, как и при поиске событий
+        CompletableFuture<Map<Long, Long>> viewsFuture = getViewsForEvents(events, EVENTS_URI);
+
+        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsForEvents(events);
+
+        Map<Long, Long> viewsMap = viewsFuture.join();
+
+        return events.stream()
+                .map(event -> {
+                    EventShortDto eventShortDto = eventMapper.toShortDto(event);
+                    eventShortDto.setViews(viewsMap.getOrDefault(event.getId(), 0L));
+                    eventShortDto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0L));
+                    return eventShortDto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Количество подтверждённых заявок берётся из events.confirmed_requests.
+     * Пока счётчики не сверены после запуска, заявки подсчитываются запросом к requests.
+     */
+    private Map<Long, Long> getConfirmedRequestsForEvents(List<Event> events) {
+        if (confirmedRequestsReconciliationJob.isReconciled()) {
+            return events.stream()
+                    .collect(Collectors.toMap(Event::getId, event -> (long) event.getConfirmedRequests()));
+        }
+        List<Long> eventIds = events.stream().map(Event::getId).collect(Collectors.toList());
         List<Object[]> results = eventRequestRepository.countByEventIdInAndStatus(eventIds, RequestStatus.CONFIRMED);
         Map<Long, Long> confirmedRequestsMap = new HashMap<>();
         for (Object[] result : results) {
@@ -277,9 +512,13 @@ public class EventServiceImp implements EventService {
 
         sendStats(request);
 
+        CompletableFuture<Long> views = eventViewsSync.isFresh()
+                ? CompletableFuture.completedFuture(event.getViews())
+                : getViews(event, request.getRequestURI());
+
         EventFullDto eventFullDto = eventMapper.toFullDto(event);
-        eventFullDto.setViews(getViews(eventId, event.getCreatedOn(), request));
-        eventFullDto.setConfirmedRequests(eventRequestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED));
+        eventFullDto.setConfirmedRequests(getConfirmedRequestsForEvents(List.of(event)).getOrDefault(eventId, 0L));
+        eventFullDto.setViews(views.join());
         return eventFullDto;
     }
 
@@ -376,106 +615,36 @@ public class EventServiceImp implements EventService {
 
     private void sendStats(HttpServletRequest request) {
         try {
-            statisticsClient.create(request);
+            statisticsClient.registerHit(request);
         } catch (Exception e) {
             log.error("Ошибка при отправке статистики: {}", e.getMessage());
 
         }
     }
 
-    private Long getViews(Long eventId, LocalDateTime createdOn, HttpServletRequest request) {
-        LocalDateTime end = LocalDateTime.now();
-        String uri = request.getRequestURI();
-        Boolean unique = true;
-        Long defaultViews = 0L;
-
-        try {
-            ResponseEntity<Object> statsResponse = statisticsClient.getStats(createdOn, end, List.of(uri), unique);
-            log.info("Запрос к statClient: URI={}, from={}, to={}, unique={}", uri, createdOn, end, unique);
-            log.info("Ответ от statClient: status={}, body={}", statsResponse.getStatusCode(), statsResponse.getBody());
-
-            if (!statsResponse.getStatusCode().is2xxSuccessful() || !statsResponse.hasBody()) {
-                log.warn("Неуспешный ответ или пустое тело от statClient для события {}: {}", eventId, statsResponse.getStatusCode());
-                return defaultViews;
-            }
-
-            Object body = statsResponse.getBody();
-            if (body == null) {
-                log.warn("Тело ответа от statClient пустое для события {}", eventId);
-                return defaultViews;
-            }
-
-            ViewStatsDto[] statsArray = convertToViewStatsDto(body, eventId);
-            if (statsArray == null || statsArray.length == 0) {
-                log.info("Нет данных статистики для события {}", eventId);
-                return defaultViews;
-            }
-
-            return Arrays.stream(statsArray).reduce((first, second) -> second).orElseThrow().getHits();
-
-        } catch (Exception e) {
-            log.error("Ошибка при получении статистики для события {}: {}", eventId, e.getMessage());
-            return defaultViews;
-        }
+    private CompletableFuture<Long> getViews(Event event, String uri) {
+        return eventViewsCache.getViewsAsync(Collections.singletonMap(uri, event.getCreatedOn()))
+                .thenApply(views -> views.getOrDefault(uri, 0L));
     }
 
-    private Map<Long, Long> getViewsForEvents(List<Event> events, HttpServletRequest request) {
+    private CompletableFuture<Map<Long, Long>> getViewsForEvents(List<Event> events, String requestUri) {
         if (events.isEmpty()) {
-            return Collections.emptyMap();
+            return CompletableFuture.completedFuture(Collections.emptyMap());
         }
-
-        LocalDateTime end = LocalDateTime.now();
-        Boolean unique = true;
-
-        List<String> uris = events.stream()
-                .map(event -> request.getRequestURI() + "/" + event.getId())
-                .collect(Collectors.toList());
-
-        LocalDateTime start = events.stream()
-                .map(Event::getCreatedOn)
-                .filter(Objects::nonNull)
-                .min(LocalDateTime::compareTo)
-                .orElse(end);
-
-        try {
-            log.info("Запрос к statClient: URIs={}, from={}, to={}, unique={}", uris, start, end, unique);
-            ResponseEntity<Object> statsResponse = statisticsClient.getStats(start, end, uris, unique);
-            log.info("Ответ от statClient: status={}, body={}", statsResponse.getStatusCode(), statsResponse.getBody());
-
-            if (!statsResponse.getStatusCode().is2xxSuccessful() || !statsResponse.hasBody() || statsResponse.getBody() == null) {
-                log.warn("Неуспешный ответ или пустое тело от statClient");
-                return Collections.emptyMap();
-            }
-
-            Object body = statsResponse.getBody();
-            ViewStatsDto[] statsArray = convertToViewStatsDto(body, null);
-
-            if (statsArray == null || statsArray.length == 0) {
-                log.info("Нет данных статистики для событий");
-                return Collections.emptyMap();
-            }
-
-            Map<String, Long> uriToViews = Arrays.stream(statsArray)
-                    .collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits));
-
-            return events.stream()
-                    .collect(Collectors.toMap(
-                            Event::getId,
-                            event -> uriToViews.getOrDefault(request.getRequestURI() + "/" + event.getId(), 0L)
-                    ));
-
-        } catch (Exception e) {
-            log.error("Ошибка при получении статистики для событий: {}", e.getMessage());
-            return Collections.emptyMap();
+        if (eventViewsSync.isFresh()) {
+            return CompletableFuture.completedFuture(events.stream()
+                    .collect(Collectors.toMap(Event::getId, Event::getViews)));
         }
-    }
 
-    private ViewStatsDto[] convertToViewStatsDto(Object body, Long eventId) {
-        try {
-            return mapper.convertValue(body, ViewStatsDto[].class);
-        } catch (Exception e) {
-            log.error("Ошибка преобразования данных статистики для события {}: {}", eventId, e.getMessage());
-            return null;
-        }
+        // дата создания может отсутствовать, а Collectors.toMap не принимает null
+        Map<String, LocalDateTime> startByUri = new HashMap<>();
+        events.forEach(event -> startByUri.put(requestUri + "/" + event.getId(), event.getCreatedOn()));
+
+        return eventViewsCache.getViewsAsync(startByUri)
+                .thenApply(uriToViews -> events.stream()
+                        .collect(Collectors.toMap(
+                                Event::getId,
+                                event -> uriToViews.getOrDefault(requestUri + "/" + event.getId(), 0L)
+                        )));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package ru.practicum.ewm.event.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.event.model.Event;
+
+import java.util.Optional;
+
+import static ru.practicum.ewm.event.repository.EventSearchFunctionContributor.*;
+
+/**
+ * Поиск событий по тексту в title, annotation и description.
+ * На PostgreSQL используется полнотекстовый поиск по GIN-индексу idx_events_search (миграция V5) с ранжированием,
+ * на остальных базах — поиск подстроки без учёта регистра.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventTextSearch {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile Boolean fullText;
+
+    public Predicate matches(Root<Event> root, CriteriaBuilder criteriaBuilder, String text) {
+        if (isFullText()) {
+            return criteriaBuilder.isTrue(
+                    criteriaBuilder.function(MATCH_FUNCTION, Boolean.class, arguments(root, criteriaBuilder, text)));
+        }
+        String pattern = "%" + text.toLowerCase() + "%";
+        return criteriaBuilder.or(
+                criteriaBuilder.like(criteriaBuilder.lower(root.get("title")), pattern),
+                criteriaBuilder.like(criteriaBuilder.lower(root.get("annotation")), pattern),
+                criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), pattern)
+        );
+    }
+
+    /**
+     * Сортировка по релевантности; пустая, если полнотекстовый поиск недоступен.
+     */
+    public Optional<Order> rankOrder(Root<Event> root, CriteriaBuilder criteriaBuilder, String text) {
+        if (!isFullText()) {
+            return Optional.empty();
+        }
+        return Optional.of(criteriaBuilder.desc(
+                criteriaBuilder.function(RANK_FUNCTION, Double.class, arguments(root, criteriaBuilder, text))));
+    }
+
+    private Expression<?>[] arguments(Root<Event> root, CriteriaBuilder criteriaBuilder, String text) {
+        return new Expression<?>[]{root.get("title"), root.get("annotation"), root.get("description"),
+                criteriaBuilder.literal(text)};
+    }
+
+    private boolean isFullText() {
+        if (fullText == null) {
+            fullText = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        }
+        return fullText;
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.ewm.event.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.stat.StatisticsClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш количества уникальных просмотров по URI события.
+ * Просмотры считаются с даты создания события: раньше хитов по его URI быть не может.
+ * После {@code refresh-after-ms} значение обновляется в фоне, а до окончания обновления отдаётся старое.
+ * Если обновление не удалось, остаётся последнее известное значение, но не дольше {@code expire-after-ms}
+ * с последней успешной загрузки: после этого значение удаляется и запрашивается заново.
+ * Загрузка не блокирует вызывающий поток, поэтому запрос к сервису статистики
+ * может выполняться параллельно с запросами к базе.
+ */
+@Slf4j
+@Component
+public class EventViewsCache {
+
+    private final StatisticsClient statisticsClient;
+    private final AsyncLoadingCache<ViewsKey, Long> cache;
+
+    @Autowired
+    public EventViewsCache(StatisticsClient statisticsClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${views-cache.max-size:10000}") long maxSize,
+                           @Value("${views-cache.refresh-after-ms:45000}") long refreshAfterMs,
+                           @Value("${views-cache.expire-after-ms:600000}") long expireAfterMs) {
+        this(statisticsClient, meterRegistry, maxSize, refreshAfterMs, expireAfterMs,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param ticker   источник времени для сроков обновления и жизни значений
+     * @param executor пул, в котором кэш запускает фоновое обновление
+     */
+    public EventViewsCache(StatisticsClient statisticsClient,
+                           MeterRegistry meterRegistry,
+                           long maxSize,
+                           long refreshAfterMs,
+                           long expireAfterMs,
+                           Ticker ticker,
+                           Executor executor) {
+        if (expireAfterMs <= refreshAfterMs) {
+            throw new IllegalArgumentException("views-cache.expire-after-ms должен быть больше views-cache.refresh-after-ms");
+        }
+        this.statisticsClient = statisticsClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofMillis(refreshAfterMs))
+                .expireAfterWrite(Duration.ofMillis(expireAfterMs))
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(new ViewsLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "event-views");
+    }
+
+    public Long getViews(String uri, LocalDateTime start) {
+        return getViews(Collections.singletonMap(uri, start)).getOrDefault(uri, 0L);
+    }
+
+    public Map<String, Long> getViews(Map<String, LocalDateTime> startByUri) {
+        return getViewsAsync(startByUri).join();
+    }
+
+    /**
+     * Просмотры для нескольких URI. Отсутствующие в кэше URI запрашиваются одним вызовом сервиса статистики.
+     * При ошибке результат завершается пустой картой.
+     *
+     * @param startByUri URI события и дата его создания; для URI без даты просмотры не запрашиваются
+     */
+    public CompletableFuture<Map<String, Long>> getViewsAsync(Map<String, LocalDateTime> startByUri) {
+        if (startByUri.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        List<ViewsKey> keys = new ArrayList<>();
+        startByUri.forEach((uri, start) -> {
+            if (start != null) {
+                keys.add(new ViewsKey(uri, start));
+            }
+        });
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        try {
+            return cache.getAll(keys)
+                    .thenApply(views -> {
+                        Map<String, Long> viewsByUri = new HashMap<>();
+                        views.forEach((key, count) -> viewsByUri.put(key.uri(), count));
+                        return viewsByUri;
+                    })
+                    .exceptionally(e -> {
+                        log.error("Ошибка при получении статистики для URIs {}: {}", startByUri.keySet(), e.getMessage());
+                        return Collections.emptyMap();
+                    });
+        } catch (Exception e) {
+            log.error("Ошибка при получении статистики для URIs {}: {}", startByUri.keySet(), e.getMessage());
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Один запрос на все URI с самой ранней датой начала: хиты по URI события появляются только после его создания,
+     * поэтому более широкий период не меняет результат для остальных событий.
+     */
+    private CompletableFuture<Map<ViewsKey, Long>> loadViews(Collection<? extends ViewsKey> keys) {
+        LocalDateTime start = keys.stream()
+                .map(ViewsKey::start)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = LocalDateTime.now();
+        List<String> uris = keys.stream().map(ViewsKey::uri).distinct().collect(Collectors.toList());
+        log.info("Запрос к statClient: URIs={}, from={}, to={}, unique={}", uris, start, end, true);
+        return statisticsClient.getHitsByUriAsync(start, end, uris, true)
+                .thenApply(hitsByUri -> {
+                    log.info("Ответ от statClient: {}", hitsByUri);
+                    Map<ViewsKey, Long> views = new HashMap<>();
+                    keys.forEach(key -> views.put(key, hitsByUri.getOrDefault(key.uri(), 0L)));
+                    return views;
+                });
+    }
+
+    private record ViewsKey(String uri, LocalDateTime start) {
+    }
+
+    private class ViewsLoader implements AsyncCacheLoader<ViewsKey, Long> {
+
+        @Override
+        public CompletableFuture<Long> asyncLoad(ViewsKey key, Executor executor) {
+            return loadViews(List.of(key)).thenApply(views -> views.get(key));
+        }
+
+        @Override
+        public CompletableFuture<Map<ViewsKey, Long>> asyncLoadAll(Set<? extends ViewsKey> keys, Executor executor) {
+            return loadViews(keys);
+        }
+
+        /**
+         * Неудачное обновление завершается ошибкой, а не старым значением: тогда кэш оставляет прежнее значение,
+         * не продлевая срок его жизни, и повторяет обновление при следующем обращении.
+         */
+        @Override
+        public CompletableFuture<Long> asyncReload(ViewsKey key, Long oldValue, Executor executor) {
+            CompletableFuture<Long> reloaded;
+            try {
+                reloaded = asyncLoad(key, executor);
+            } catch (Exception e) {
+                reloaded = CompletableFuture.failedFuture(e);
+            }
+            return reloaded.whenComplete((views, e) -> {
+                if (e != null) {
+                    log.warn("Не удалось обновить просмотры для {}, используется последнее значение {}: {}",
+                            key.uri(), oldValue, e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.ewm.event.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.event.model.SyncWatermark;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.repository.SyncWatermarkRepository;
+import ru.practicum.stat.StatisticsClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Фоновая синхронизация просмотров из сервиса статистики в events.views.
+ * <p>
+ * За один запуск запрашиваются URI событий, получившие хиты с момента предыдущей синхронизации
+ * (с небольшим перекрытием на хиты, доставленные с опозданием), и только для них
+ * пачками пересчитывается число уникальных просмотров. Уникальные просмотры не суммируются
+ * по интервалам, поэтому в events.views записывается итоговое значение, а не приращение.
+ * <p>
+ * Пока последняя успешная синхронизация не старше {@code max-staleness-ms},
+ * просмотры читаются из строки события без обращения к сервису статистики.
+ * <p>
+ * Водяной знак хранится в таблице sync_watermarks, поэтому после перезапуска синхронизация
+ * продолжается с того же места, а не пересчитывает просмотры всех событий за всю историю.
+ * Первый запуск и запросы уникальных просмотров начинаются с даты создания самого раннего события.
+ */
+@Slf4j
+@Component
+public class EventViewsSync {
+
+    static final String WATERMARK_NAME = "event-views";
+
+    private static final Pattern EVENT_URI = Pattern.compile("/events/(\\d+)");
+
+    private final StatisticsClient statisticsClient;
+    private final EventRepository eventRepository;
+    private final SyncWatermarkRepository watermarkRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration overlap;
+    private final Duration maxStaleness;
+
+    private final Counter updatedEvents;
+    private final Counter failures;
+    private final Counter staleSorts;
+    private final Timer duration;
+
+    private volatile LocalDateTime watermark;
+    private volatile boolean watermarkLoaded;
+
+    public EventViewsSync(StatisticsClient statisticsClient,
+                          EventRepository eventRepository,
+                          SyncWatermarkRepository watermarkRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${views-sync.enabled:true}") boolean enabled,
+                          @Value("${views-sync.batch-size:500}") int batchSize,
+                          @Value("${views-sync.overlap-ms:10000}") long overlapMs,
+                          @Value("${views-sync.max-staleness-ms:120000}") long maxStalenessMs) {
+        this.statisticsClient = statisticsClient;
+        this.eventRepository = eventRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.maxStaleness = Duration.ofMillis(maxStalenessMs);
+
+        Gauge.builder("events.views.sync.lag", this,
+                        sync -> sync.watermark == null ? Double.NaN : sync.getLag().toMillis() / 1000.0)
+                .description("Время с конца последнего синхронизированного интервала, секунды")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.updatedEvents = Counter.builder("events.views.sync.events")
+                .description("Количество событий, для которых пересчитаны просмотры")
+                .register(meterRegistry);
+        this.failures = Counter.builder("events.views.sync.failures")
+                .description("Количество неудачных запусков синхронизации просмотров")
+                .register(meterRegistry);
+        this.staleSorts = Counter.builder("events.views.sort.stale")
+                .description("Количество сортировок по events.views, пока синхронизация просмотров выключена или отстала")
+                .register(meterRegistry);
+        this.duration = Timer.builder("events.views.sync.duration")
+                .description("Время одного запуска синхронизации просмотров")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${views-sync.interval-ms:30000}",
+            initialDelayString = "${views-sync.initial-delay-ms:30000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        duration.record(this::syncSinceWatermark);
+    }
+
+    /**
+     * @return {@code true}, если events.views можно отдавать клиентам вместо запроса к сервису статистики
+     */
+    public boolean isFresh() {
+        return enabled && watermark != null && getLag().compareTo(maxStaleness) <= 0;
+    }
+
+    /**
+     * Отмечает сортировку по events.views, выполненную при устаревших значениях (см. {@link #isFresh()}).
+     */
+    public void recordStaleSort() {
+        staleSorts.increment();
+    }
+
+    public Duration getLag() {
+        LocalDateTime synced = watermark;
+        return synced == null ? Duration.ofMillis(Long.MAX_VALUE) : Duration.between(synced, LocalDateTime.now());
+    }
+
+    private void syncSinceWatermark() {
+        // в сервисе статистики время с точностью до секунд
+        LocalDateTime end = LocalDateTime.now().withNano(0);
+        LocalDateTime start = null;
+        try {
+            loadWatermark();
+            start = watermark == null
+                    ? eventRepository.findEarliestCreatedOn().orElse(end)
+                    : watermark.minus(overlap);
+            List<String> uris = findChangedEventUris(start, end);
+            for (int from = 0; from < uris.size(); from += batchSize) {
+                syncBatch(uris.subList(from, Math.min(from + batchSize, uris.size())), end);
+            }
+            watermarkRepository.save(new SyncWatermark(WATERMARK_NAME, end));
+            watermark = end;
+            log.info("Синхронизированы просмотры {} событий за период {} - {}", uris.size(), start, end);
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Ошибка синхронизации просмотров за период {} - {}: {}", start, end, e.getMessage());
+        }
+    }
+
+    private void loadWatermark() {
+        if (!watermarkLoaded) {
+            watermark = watermarkRepository.findById(WATERMARK_NAME)
+                    .map(SyncWatermark::getSyncedUntil)
+                    .orElse(null);
+            watermarkLoaded = true;
+        }
+    }
+
+    private List<String> findChangedEventUris(LocalDateTime start, LocalDateTime end) {
+        List<String> uris = new ArrayList<>();
+        for (String uri : statisticsClient.getHitsByUri(start, end, null, false).keySet()) {
+            if (EVENT_URI.matcher(uri).matches()) {
+                uris.add(uri);
+            }
+        }
+        return uris;
+    }
+
+    private void syncBatch(List<String> uris, LocalDateTime end) {
+        List<Long> eventIds = new ArrayList<>();
+        for (String uri : uris) {
+            Matcher matcher = EVENT_URI.matcher(uri);
+            if (matcher.matches()) {
+                eventIds.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        // хиты по URI удалённых событий не пересчитываются
+        Optional<LocalDateTime> start = eventRepository.findEarliestCreatedOn(eventIds);
+        if (start.isEmpty()) {
+            return;
+        }
+        Map<String, Long> views = statisticsClient.getHitsByUri(start.get(), end, uris, true);
+        Map<Long, Long> viewsByEventId = new HashMap<>();
+        views.forEach((uri, count) -> {
+            Matcher matcher = EVENT_URI.matcher(uri);
+            if (matcher.matches()) {
+                viewsByEventId.put(Long.parseLong(matcher.group(1)), count);
+            }
+        });
+        eventRepository.updateViews(viewsByEventId);
+        updatedEvents.increment(viewsByEventId.size());
+    }
+}
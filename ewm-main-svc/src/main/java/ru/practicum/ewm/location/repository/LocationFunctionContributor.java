@@ -0,0 +1,36 @@
+package ru.practicum.ewm.location.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Регистрирует функции поиска локаций в радиусе.
+ * Расстояние по дуге большого круга доступно на всех базах, попадание в прямоугольник — только на PostgreSQL:
+ * выражение point(longitude, latitude) совпадает с выражением GiST-индекса idx_locations_point.
+ */
+public class LocationFunctionContributor implements FunctionContributor {
+
+    public static final String DISTANCE_FUNCTION = "location_distance_km";
+    public static final String IN_BOX_FUNCTION = "location_in_box";
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        // ?1, ?2 — широта и долгота локации, ?3, ?4 — широта и долгота центра поиска
+        functionContributions.getFunctionRegistry().registerPattern(DISTANCE_FUNCTION,
+                "(" + EARTH_RADIUS_KM + " * acos(least(1.0, greatest(-1.0, "
+                        + "cos(radians(?1)) * cos(radians(?3)) * cos(radians(?4) - radians(?2))"
+                        + " + sin(radians(?1)) * sin(radians(?3))))))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+        if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+        // ?1, ?2 — долгота и широта локации, ?3..?6 — юго-западный и северо-восточный углы прямоугольника
+        functionContributions.getFunctionRegistry().registerPattern(IN_BOX_FUNCTION,
+                "(point(?1, ?2) <@ box(point(?3, ?4), point(?5, ?6)))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -1,10 +1,12 @@
 package ru.practicum.ewm.request.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.request.dto.ParticipationRequestDto;
 import ru.practicum.ewm.request.model.Request;
 import ru.practicum.ewm.utils.RequestStatus;
 
@@ -15,6 +17,8 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     boolean existsByRequesterIdAndEventId(Long userId, Long eventId);
 
+    boolean existsByIdAndStatus(Long requestId, RequestStatus status);
+
     List<Request> findByRequesterId(Long userId);
 
     long countByEventIdAndStatus(Long eventId, RequestStatus status);
@@ -26,4 +30,40 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> findByEvent(Event event);
 
+    /**
+     * Заявки пользователя без загрузки сущностей Event и User: читаются только столбцы таблицы requests.
+     */
+    @Query("""
+                SELECT new ru.practicum.ewm.request.dto.ParticipationRequestDto(
+                    r.created, r.event.id, r.id, r.requester.id, r.status)
+                FROM Request r
+                WHERE r.requester.id = ?1
+            """)
+    List<ParticipationRequestDto> findDtosByRequesterId(Long userId);
+
+    @Query("""
+                SELECT new ru.practicum.ewm.request.dto.ParticipationRequestDto(
+                    r.created, r.event.id, r.id, r.requester.id, r.status)
+                FROM Request r
+                WHERE r.event.id = ?1
+            """)
+    List<ParticipationRequestDto> findDtosByEventId(Long eventId);
+
+    @Query("""
+                SELECT new ru.practicum.ewm.request.dto.ParticipationRequestDto(
+                    r.created, r.event.id, r.id, r.requester.id, r.status)
+                FROM Request r
+                WHERE r.id IN ?1
+                ORDER BY r.created, r.id
+            """)
+    List<ParticipationRequestDto> findDtosByIdIn(List<Long> requestIds);
+
+    @Modifying
+    @Query("UPDATE Request r SET r.status = ?2 WHERE r.id IN ?1 AND r.status = ?3")
+    int updateStatus(List<Long> requestIds, RequestStatus status, RequestStatus currentStatus);
+
+    @Modifying
+    @Query("UPDATE Request r SET r.status = ?2 WHERE r.id = ?1 AND r.status <> ?3")
+    int updateStatusExcept(Long requestId, RequestStatus status, RequestStatus excludedStatus);
+
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package ru.practicum.ewm.request.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.event.repository.EventRepository;
+
+import java.util.List;
+
+/**
+ * Сверяет счётчик events.confirmed_requests с количеством подтверждённых заявок.
+ * Счётчик изменяется в RequestServiceImpl, а задача исправляет расхождения
+ * (например, после ручных правок в базе или для данных, созданных до появления счётчика).
+ * <p>
+ * События обрабатываются пачками по id, строки пачки блокируются до пересчёта,
+ * чтобы параллельное подтверждение заявки не потерялось.
+ * До первой полной сверки после запуска счётчикам не доверяют и считают заявки запросом.
+ */
+@Slf4j
+@Component
+public class ConfirmedRequestsReconciliationJob {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter repaired;
+
+    private volatile boolean reconciled;
+
+    public ConfirmedRequestsReconciliationJob(EventRepository eventRepository,
+                                              TransactionTemplate transactionTemplate,
+                                              MeterRegistry meterRegistry,
+                                              @Value("${confirmed-requests.reconcile.chunk-size:1000}") int chunkSize) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.repaired = Counter.builder("events.confirmed-requests.repaired")
+                .description("Количество событий с исправленным счётчиком подтверждённых заявок")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${confirmed-requests.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> locked = eventRepository.lockIdsAfter(afterId, chunkSize);
+                if (!locked.isEmpty()) {
+                    repaired.increment(eventRepository.reconcileConfirmedRequests(locked));
+                }
+                return locked;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            total += ids.size();
+            lastId = ids.getLast();
+        }
+        reconciled = true;
+        log.info("Сверка подтверждённых заявок завершена, проверено событий: {}, исправлено всего: {}",
+                total, (long) repaired.count());
+    }
+
+    public boolean isReconciled() {
+        return reconciled;
+    }
+}
@@ -35,6 +35,7 @@ public class RequestServiceImpl implements RequestService {
     private final EventRepository eventRepository;
     private final RequestRepository requestRepository;
     private final RequestMapper requestMapper;
+    private final ConfirmedRequestsReconciliationJob confirmedRequestsReconciliationJob;
 
     @Override
     public ParticipationRequestDto create(Long userId, Long eventId) {
@@ -56,15 +57,19 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Нельзя участвовать в неопубликованном событии.");
         }
 
-        if (event.getParticipantLimit() != 0 &&
-                requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED) >= event.getParticipantLimit()) {
+        if (event.getParticipantLimit() != 0 && getConfirmedCount(event) >= event.getParticipantLimit()) {
             throw new ConflictException("Достигнут лимит участников.");
         }
 
         RequestStatus status = (!event.getRequestModeration() || event.getParticipantLimit() == 0)
                 ? RequestStatus.CONFIRMED : RequestStatus.PENDING;
 
-        Request request = new Request(1L, event, user, status, LocalDateTime.now());
+        // место занимается атомарно до сохранения заявки, проверка выше лишь отсекает заведомо лишние запросы
+        if (status == RequestStatus.CONFIRMED) {
+            reserveSeat(eventId);
+        }
+
+        Request request = new Request(null, event, user, status, LocalDateTime.now());
 
         Request savedRequest = requestRepository.save(request);
         log.info("Создан запрос на участие с ID: {}", savedRequest.getId());
@@ -73,8 +78,9 @@ public class RequestServiceImpl implements RequestService {
 
     @Override
     public ParticipationRequestDto cancelRequest(Long userId, Long requestId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь c ID " + userId + " не найден"));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь c ID " + userId + " не найден");
+        }
 
         Request request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос не найден."));
@@ -83,9 +89,22 @@ public class RequestServiceImpl implements RequestService {
             throw new ForbiddenException("Можно отменить только собственный запрос.");
         }
 
-        request.setStatus(RequestStatus.CANCELED);
-        Request savedRequest = requestRepository.save(request);
-        return requestMapper.toRequestDto(savedRequest);
+        // строка события блокируется, как и при подтверждении заявок инициатором,
+        // поэтому статус заявки не может смениться между двумя UPDATE ниже
+        Long eventId = request.getEvent().getId();
+        eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new NotFoundException("Событие c ID " + eventId + " не найдено"));
+
+        // место освобождает только та отмена, которая сама сняла CONFIRMED
+        if (requestRepository.updateStatus(List.of(requestId), RequestStatus.CANCELED, RequestStatus.CONFIRMED) == 1) {
+            eventRepository.addConfirmedRequests(eventId, -1);
+        } else if (requestRepository.updateStatusExcept(requestId, RequestStatus.CANCELED, RequestStatus.CONFIRMED) == 0
+                && !requestRepository.existsByIdAndStatus(requestId, RequestStatus.CANCELED)) {
+            throw new ConflictException("Статус заявки изменился во время отмены, повторите запрос.");
+        }
+        ParticipationRequestDto canceled = requestMapper.toRequestDto(request);
+        canceled.setStatus(RequestStatus.CANCELED);
+        return canceled;
     }
 
     @Override
@@ -93,9 +112,7 @@ public class RequestServiceImpl implements RequestService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь c ID " + userId + " не найден"));
 
-        return requestRepository.findByRequesterId(userId).stream()
-                .map(requestMapper::toRequestDto)
-                .collect(Collectors.toList());
+        return requestRepository.findDtosByRequesterId(userId);
     }
 
     @Override
@@ -106,60 +123,108 @@ public class RequestServiceImpl implements RequestService {
         Event event = eventRepository.findByIdAndInitiatorId(eventId, userId)
                 .orElseThrow(() -> new ForbiddenException("Пользователь не инициатор события."));
 
-        return requestRepository.findByEvent(event).stream()
-                .map(requestMapper::toRequestDto)
-                .collect(Collectors.toList());
+        return requestRepository.findDtosByEventId(event.getId());
     }
 
     @Override
     public RequestStatusUpdateResult updateStatus(Long userId, Long eventId, RequestStatusUpdateRequest dto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь c ID " + userId + " не найден"));
-        Event event = eventRepository.findById(eventId)
+        // строка события блокируется до конца транзакции, чтобы параллельные заявки не превысили лимит
+        Event event = eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие c ID " + eventId + " не найдено"));
 
-        List<Request> requests = requestRepository.findAllById(dto.getRequestIds());
+        // заявки читаются одним запросом сразу в DTO, без загрузки сущностей
+        List<ParticipationRequestDto> requests = requestRepository.findDtosByIdIn(dto.getRequestIds());
         if (requests.isEmpty()) {
             return new RequestStatusUpdateResult(new ArrayList<>(), new ArrayList<>());
         }
 
+        for (ParticipationRequestDto request : requests) {
+            validateRequest(request, eventId);
+
+            if (request.getStatus() != RequestStatus.PENDING) {
+                throw new ConflictException("Изменять можно только заявки в статусе PENDING.");
+            }
+        }
+
         RequestStatus targetStatus = RequestStatus.valueOf(String.valueOf(dto.getStatus()));
+        if (targetStatus == RequestStatus.REJECTED) {
+            changeStatus(requests, RequestStatus.REJECTED);
+            return new RequestStatusUpdateResult(new ArrayList<>(), requests);
+        }
+        if (targetStatus != RequestStatus.CONFIRMED) {
+            return new RequestStatusUpdateResult(new ArrayList<>(), new ArrayList<>());
+        }
 
         int participantLimit = event.getParticipantLimit();
-        long confirmedCount = requestRepository.countByEventIdAndStatus(event.getId(), RequestStatus.CONFIRMED);
+        long confirmedCount = getConfirmedCount(event);
 
-        if (targetStatus == RequestStatus.CONFIRMED && participantLimit != 0 && confirmedCount >= participantLimit) {
+        if (participantLimit != 0 && confirmedCount >= participantLimit) {
             throw new ConflictException("Достигнут лимит участников.");
         }
 
-        RequestStatusUpdateResult result = new RequestStatusUpdateResult(new ArrayList<>(), new ArrayList<>());
+        // заявки сверх лимита отклоняются в той же транзакции
+        int available = participantLimit == 0 ? requests.size()
+                : (int) Math.min(requests.size(), participantLimit - confirmedCount);
+        List<ParticipationRequestDto> confirmed = new ArrayList<>(requests.subList(0, available));
+        List<ParticipationRequestDto> rejected = new ArrayList<>(requests.subList(available, requests.size()));
 
-        for (Request request : requests) {
-            validateRequest(request, eventId);
+        changeStatus(confirmed, RequestStatus.CONFIRMED);
+        changeStatus(rejected, RequestStatus.REJECTED);
+        eventRepository.addConfirmedRequests(eventId, confirmed.size());
 
-            if (request.getStatus() != RequestStatus.PENDING) {
-                throw new ConflictException("Изменять можно только заявки в статусе PENDING.");
-            }
+        return new RequestStatusUpdateResult(confirmed, rejected);
+    }
+
+    /**
+     * Количество подтверждённых заявок берётся из events.confirmed_requests.
+     * Пока счётчики не сверены после запуска, заявки подсчитываются запросом к requests.
+     */
+    private long getConfirmedCount(Event event) {
+        if (confirmedRequestsReconciliationJob.isReconciled()) {
+            return event.getConfirmedRequests();
+        }
+        return requestRepository.countByEventIdAndStatus(event.getId(), RequestStatus.CONFIRMED);
+    }
 
-            if (targetStatus == RequestStatus.CONFIRMED) {
-                if (participantLimit != 0 && confirmedCount >= participantLimit) {
-                    break; // Достигнут лимит участников
-                }
-                request.setStatus(RequestStatus.CONFIRMED);
-                result.getConfirmedRequests().add(requestMapper.toRequestDto(request));
-                confirmedCount++;
-            } else if (targetStatus == RequestStatus.REJECTED) {
-                request.setStatus(RequestStatus.REJECTED);
-                result.getRejectedRequests().add(requestMapper.toRequestDto(request));
+    /**
+     * Занимает место участника и увеличивает счётчик подтверждённых заявок.
+     * До сверки счётчику не доверяют: строка события блокируется, и лимит проверяется по числу заявок.
+     */
+    private void reserveSeat(Long eventId) {
+        if (confirmedRequestsReconciliationJob.isReconciled()) {
+            if (eventRepository.tryAddConfirmedRequests(eventId, 1) == 0) {
+                throw new ConflictException("Достигнут лимит участников.");
             }
+            return;
+        }
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new NotFoundException("Событие c ID " + eventId + " не найдено"));
+        if (event.getParticipantLimit() != 0
+                && requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED) >= event.getParticipantLimit()) {
+            throw new ConflictException("Достигнут лимит участников.");
         }
+        eventRepository.addConfirmedRequests(eventId, 1);
+    }
 
-        requestRepository.saveAll(requests);
-        return result;
+    /**
+     * Переводит заявки из PENDING в {@code status} одним UPDATE.
+     * Если часть заявок успели изменить параллельно, транзакция откатывается.
+     */
+    private void changeStatus(List<ParticipationRequestDto> requests, RequestStatus status) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        List<Long> ids = requests.stream().map(ParticipationRequestDto::getId).collect(Collectors.toList());
+        if (requestRepository.updateStatus(ids, status, RequestStatus.PENDING) != ids.size()) {
+            throw new ConflictException("Изменять можно только заявки в статусе PENDING.");
+        }
+        requests.forEach(request -> request.setStatus(status));
     }
 
-    private void validateRequest(Request request, Long eventId) {
-        if (!request.getEvent().getId().equals(eventId)) {
+    private void validateRequest(ParticipationRequestDto request, Long eventId) {
+        if (!request.getEvent().equals(eventId)) {
             throw new NotFoundException("Запрос не относится к данному событию.");
         }
     }
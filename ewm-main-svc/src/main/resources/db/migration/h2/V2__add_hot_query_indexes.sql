@@ -0,0 +1,10 @@
+-- H2 не поддерживает частичные индексы, поэтому состояние события входит в индекс
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date ON events (state, event_date, id);
+CREATE INDEX IF NOT EXISTS idx_events_state_views ON events (state, views DESC, id);
+CREATE INDEX IF NOT EXISTS idx_events_category ON events (category_id);
+CREATE INDEX IF NOT EXISTS idx_events_initiator ON events (initiator_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_event_status ON requests (event_id, status);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_event ON requests (requester_id, event_id);
+
+CREATE INDEX IF NOT EXISTS idx_compilations_event_event ON compilations_event (event_id);
@@ -0,0 +1,2 @@
+-- в H2 нет GiST, ограничивающий прямоугольник ищется по составному индексу
+CREATE INDEX IF NOT EXISTS idx_locations_lat_lon ON locations (latitude, longitude);
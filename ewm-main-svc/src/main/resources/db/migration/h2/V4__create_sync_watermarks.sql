@@ -0,0 +1,5 @@
+-- водяные знаки фоновых синхронизаций, чтобы после перезапуска не перечитывать всю историю
+CREATE TABLE IF NOT EXISTS sync_watermarks(
+    name VARCHAR(64) PRIMARY KEY,
+    synced_until TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
@@ -0,0 +1,2 @@
+-- в H2 нет полнотекстового поиска PostgreSQL, текст ищется по подстроке без индекса;
+-- миграция оставлена, чтобы версии схемы совпадали для обеих баз
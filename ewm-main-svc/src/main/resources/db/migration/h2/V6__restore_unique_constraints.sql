@@ -0,0 +1,4 @@
+-- ограничения исходной схемы: повторная заявка на событие и повторное имя категории отклоняются базой,
+-- в том числе когда параллельные запросы одновременно проходят проверки в сервисе
+ALTER TABLE requests ADD CONSTRAINT unique_request UNIQUE (event_id, requester_id);
+ALTER TABLE categories ADD CONSTRAINT unique_category_name UNIQUE (name);
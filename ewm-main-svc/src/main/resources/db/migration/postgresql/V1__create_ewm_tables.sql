@@ -0,0 +1,55 @@
+CREATE TABLE IF NOT EXISTS users(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(250) NOT NULL,
+    email VARCHAR(254) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS categories(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS locations(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    latitude REAL NOT NULL,
+    longitude REAL NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS events(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    location_id BIGINT UNIQUE REFERENCES locations(id),
+    initiator_id BIGINT REFERENCES users(id),
+    category_id BIGINT REFERENCES categories(id),
+    title VARCHAR(120),
+    annotation VARCHAR(2000),
+    description VARCHAR(7000),
+    event_date TIMESTAMP WITHOUT TIME ZONE,
+    paid BOOLEAN,
+    participant_limit INTEGER,
+    request_moderation BOOLEAN,
+    state VARCHAR(50),
+    created_on TIMESTAMP WITHOUT TIME ZONE,
+    published_on TIMESTAMP WITHOUT TIME ZONE,
+    confirmed_requests INTEGER NOT NULL DEFAULT 0,
+    views BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS requests(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id BIGINT NOT NULL REFERENCES events(id),
+    requester_id BIGINT NOT NULL REFERENCES users(id),
+    status VARCHAR(50),
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS compilations(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pinned BOOLEAN NOT NULL,
+    title VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS compilations_event(
+    compilation_id BIGINT NOT NULL REFERENCES compilations(id),
+    event_id BIGINT NOT NULL REFERENCES events(id),
+    PRIMARY KEY (compilation_id, event_id)
+);
@@ -0,0 +1,20 @@
+-- публичные списки: только опубликованные события, сортировка по дате или просмотрам
+CREATE INDEX IF NOT EXISTS idx_events_published_event_date ON events (event_date, id) WHERE state = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_events_published_views ON events (views DESC, id) WHERE state = 'PUBLISHED';
+-- заменены частичными индексами выше; создавались Hibernate по аннотациям Event
+DROP INDEX IF EXISTS idx_events_state_event_date;
+DROP INDEX IF EXISTS idx_events_state_views;
+
+-- админский поиск и события пользователя
+CREATE INDEX IF NOT EXISTS idx_events_state_date ON events (state, event_date);
+CREATE INDEX IF NOT EXISTS idx_events_category ON events (category_id);
+CREATE INDEX IF NOT EXISTS idx_events_initiator ON events (initiator_id, id);
+
+-- подсчёт подтверждённых заявок и заявки события
+CREATE INDEX IF NOT EXISTS idx_requests_event_confirmed ON requests (event_id) WHERE status = 'CONFIRMED';
+CREATE INDEX IF NOT EXISTS idx_requests_event_status ON requests (event_id, status);
+-- заявки пользователя и проверка повторной заявки
+CREATE INDEX IF NOT EXISTS idx_requests_requester_event ON requests (requester_id, event_id);
+
+-- подборки, в которые входит событие
+CREATE INDEX IF NOT EXISTS idx_compilations_event_event ON compilations_event (event_id);
@@ -0,0 +1,2 @@
+-- поиск событий в радиусе: выражение должно совпадать с функцией location_in_box из LocationFunctionContributor
+CREATE INDEX IF NOT EXISTS idx_locations_point ON locations USING GIST (point(longitude, latitude));
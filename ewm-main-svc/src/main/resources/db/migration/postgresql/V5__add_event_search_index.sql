@@ -0,0 +1,7 @@
+-- выражение должно совпадать с EventSearchFunctionContributor.searchVector, иначе индекс не будет использован;
+-- CONCURRENTLY не блокирует запись в events, поэтому миграция выполняется вне транзакции
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_search ON events USING GIN (
+    (setweight(to_tsvector('russian', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('russian', coalesce(annotation, '')), 'B')
+        || setweight(to_tsvector('russian', coalesce(description, '')), 'C'))
+);
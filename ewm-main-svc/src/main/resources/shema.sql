@@ -1,71 +0,0 @@
-DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS compilations CASCADE;
-DROP TABLE IF EXISTS categories CASCADE;
-DROP TABLE IF EXISTS locations CASCADE;
-DROP TABLE IF EXISTS events CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS compilations_events CASCADE;
-
-CREATE TABLE IF NOT EXISTS users(
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name VARCHAR(250) NOT NULL,
-    email VARCHAR(254) NOT NULL UNIQUE
-);
-
-CREATE TABLE IF NOT EXISTS categories(
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name VARCHAR(50) NOT NULL UNIQUE
-);
-
-CREATE TABLE IF NOT EXISTS locations (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    latitude DOUBLE PRECISION NOT NULL,
-    longitude DOUBLE PRECISION NOT NULL
-);
-
-CREATE TABLE IF NOT EXISTS events (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    location_id BIGINT NOT NULL,
-    initiator_id BIGINT NOT NULL,
-    category_id BIGINT NOT NULL,
-    title VARCHAR(120) NOT NULL,
-    annotation VARCHAR(2000) NOT NULL,
-    description VARCHAR(7000) NOT NULL,
-    event_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    paid BOOLEAN NOT NULL DEFAULT false,
-    participant_limit INT NOT NULL DEFAULT 0,
-    request_moderation BOOLEAN NOT NULL DEFAULT false,
-    state VARCHAR(50) NOT NULL,
-    created_on TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    published_on TIMESTAMP WITHOUT TIME ZONE,
-    confirmed_requests INT NOT NULL DEFAULT 0,
-    views INT NOT NULL DEFAULT 0,
-    FOREIGN KEY (location_id) REFERENCES locations(id) ON DELETE CASCADE,
-    FOREIGN KEY (initiator_id) REFERENCES users(id) ON DELETE CASCADE,
-    FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
-);
-
-CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    event_id BIGINT NOT NULL,
-    requester_id BIGINT NOT NULL,
-    status VARCHAR(50) NOT NULL,
-    created TIMESTAMP NOT NULL,
-    FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
-    FOREIGN KEY (requester_id) REFERENCES users(id) ON DELETE CASCADE,
-    CONSTRAINT unique_request UNIQUE (event_id, requester_id)
-);
-
-CREATE TABLE IF NOT EXISTS compilations (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE,
-    pinned BOOLEAN NOT NULL,
-    title VARCHAR(50) NOT NULL
-);
-
-CREATE TABLE IF NOT EXISTS compilations_event(
-    compilation_id BIGINT REFERENCES compilations(id) ON DELETE CASCADE,
-    event_id BIGINT REFERENCES events(id) ON DELETE CASCADE,
-    PRIMARY KEY (compilation_id, event_id)
-);
-
-
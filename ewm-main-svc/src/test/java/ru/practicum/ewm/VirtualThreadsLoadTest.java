@@ -0,0 +1,142 @@
+package ru.practicum.ewm;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнение режимов платформенных и виртуальных потоков под нагрузкой.
+ * Сервис статистики заменён заглушкой, отвечающей через 50 мс, хиты отправляются синхронно,
+ * поэтому каждый запрос GET /events блокирует поток запроса на HTTP-вызове.
+ * В платформенном режиме одновременно обслуживается не больше server.tomcat.threads.max запросов,
+ * в режиме виртуальных потоков ограничения нет: хит отправляется после завершения транзакции поиска
+ * (open-in-view отключён), поэтому соединение с базой на время вызова не удерживается.
+ * Запуск: mvn test -Dtest=VirtualThreadsLoadTest -Dbenchmark.load=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.load", matches = "true")
+@DisplayName("Нагрузочное сравнение платформенных и виртуальных потоков")
+public class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final long STATS_DELAY_MS = 50;
+
+    @DisplayName("Виртуальные потоки дают меньший p99 и большую конкурентность при блокирующих вызовах")
+    @Test
+    void virtualThreads_lowerP99AndHigherConcurrency() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        log.info("Платформенные потоки: p99 {} мс, одновременных вызовов статистики {}",
+                platform.p99Millis(), platform.maxConcurrency());
+        log.info("Виртуальные потоки: p99 {} мс, одновременных вызовов статистики {}",
+                virtual.p99Millis(), virtual.maxConcurrency());
+        assertTrue(virtual.p99Millis() < platform.p99Millis());
+        assertTrue(virtual.maxConcurrency() > platform.maxConcurrency());
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxConcurrency = new AtomicInteger();
+        HttpServer stats = slowStatsServer(inFlight, maxConcurrency);
+        // аргументы командной строки, а не properties(): значения по умолчанию перекрываются application.properties
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(MainApp.class)
+                .run("--server.port=0",
+                        "--stats-server.url=http://localhost:" + stats.getAddress().getPort(),
+                        "--stats-client.async.enabled=false",
+                        "--stats-client.http.http2=false",
+                        "--views-sync.enabled=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            URI uri = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/events");
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .build();
+
+            for (int i = 0; i < 100; i++) {
+                send(http, uri);
+            }
+            maxConcurrency.set(0);
+
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                futures.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        latencies.add(send(http, uri));
+                    }
+                    return latencies;
+                }));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                latencies.addAll(future.get());
+            }
+            Collections.sort(latencies);
+            long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+            return new LoadResult(p99 / 1_000_000, maxConcurrency.get());
+        } finally {
+            app.close();
+            stats.stop(0);
+        }
+    }
+
+    private long send(HttpClient http, URI uri) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, response.statusCode());
+        return System.nanoTime() - start;
+    }
+
+    private HttpServer slowStatsServer(AtomicInteger inFlight, AtomicInteger maxConcurrency) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS);
+        // заглушка на платформенных потоках не зависит от планировщика виртуальных потоков проверяемого сервиса
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            maxConcurrency.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(STATS_DELAY_MS);
+                byte[] body = exchange.getRequestURI().getPath().startsWith("/stats") ? "[]".getBytes() : "{}".getBytes();
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(exchange.getRequestURI().getPath().startsWith("/stats") ? 200 : 201,
+                        body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private record LoadResult(long p99Millis, int maxConcurrency) {
+    }
+}
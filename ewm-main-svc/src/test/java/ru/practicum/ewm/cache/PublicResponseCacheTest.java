@@ -0,0 +1,63 @@
+package ru.practicum.ewm.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Тестирование PublicResponseCache")
+public class PublicResponseCacheTest {
+
+    private final PublicResponseCache cache =
+            new PublicResponseCache(new ObjectMapper(), new SimpleMeterRegistry(), 100, 60000);
+
+    @DisplayName("Повторный запрос обслуживается из кэша без загрузки")
+    @Test
+    void get_repeatedRequest_loadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = body(cache.get(PublicResponseCache.CATEGORIES, "key", new MockHttpServletRequest(),
+                () -> "value " + loads.incrementAndGet()));
+        String second = body(cache.get(PublicResponseCache.CATEGORIES, "key", new MockHttpServletRequest(),
+                () -> "value " + loads.incrementAndGet()));
+
+        assertEquals("\"value 1\"", first);
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @DisplayName("Ответ, построенный во время сброса области, не попадает в кэш")
+    @Test
+    void get_invalidatedDuringLoad_notCached() {
+        cache.get(PublicResponseCache.CATEGORIES, "key", new MockHttpServletRequest(), () -> {
+            cache.invalidate(PublicResponseCache.CATEGORIES);
+            return "before invalidation";
+        });
+
+        String body = body(cache.get(PublicResponseCache.CATEGORIES, "key", new MockHttpServletRequest(),
+                () -> "after invalidation"));
+
+        assertEquals("\"after invalidation\"", body);
+    }
+
+    @DisplayName("Загрузка может обращаться к кэшу за другими ключами")
+    @Test
+    void get_loaderReadsAnotherKey_returnBothValues() {
+        String body = body(cache.get(PublicResponseCache.COMPILATIONS, "outer", new MockHttpServletRequest(),
+                () -> body(cache.get(PublicResponseCache.COMPILATIONS, "inner", new MockHttpServletRequest(),
+                        () -> "inner"))));
+
+        assertEquals("\"\\\"inner\\\"\"", body);
+    }
+
+    private static String body(ResponseEntity<byte[]> response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.ewm.MainApp;
 import ru.practicum.ewm.categories.repository.CategoryRepository;
@@ -63,6 +64,15 @@ public class CategoryServiceImpTest {
         assertTrue(exception.getMessage().contains("Категория с именем: " + dto.getName() + " уже существует"));
     }
 
+    @Test
+    @DisplayName("Категория с неуникальным именем отклоняется базой")
+    void saveCategory_DuplicateName_ThrowDataIntegrityViolationException() {
+        categoryRepository.save(new Category(null, CATEGORY_NAME_1));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> categoryRepository.save(new Category(null, CATEGORY_NAME_1)));
+    }
+
     @Test
     @DisplayName("Удаление существующей категории без связей")
     void deleteCategory_ExistingIdWithoutEvents_DeletedSuccessfully() {
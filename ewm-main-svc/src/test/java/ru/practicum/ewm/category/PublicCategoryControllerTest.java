@@ -1,13 +1,17 @@
 package ru.practicum.ewm.category;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.ewm.cache.PublicResponseCache;
 import ru.practicum.ewm.categories.contoller.PublicCategoryController;
 import ru.practicum.ewm.categories.model.Category;
 import ru.practicum.ewm.categories.service.CategoryService;
@@ -22,6 +26,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PublicCategoryController.class)
+@Import({PublicResponseCache.class, SimpleMeterRegistry.class})
 @DisplayName("Тестирование PublicCategoryController")
 public class PublicCategoryControllerTest {
 
@@ -31,9 +36,17 @@ public class PublicCategoryControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @MockBean
     private CategoryService categoryService;
 
+    @BeforeEach
+    void clearCache() {
+        responseCache.invalidate(PublicResponseCache.CATEGORIES);
+    }
+
     @DisplayName("Получение категории по ID")
     @Test
     void getCategoryById_validId_shouldReturnCategory() throws Exception {
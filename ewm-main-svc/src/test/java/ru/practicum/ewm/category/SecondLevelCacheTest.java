@@ -0,0 +1,103 @@
+package ru.practicum.ewm.category;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.ewm.categories.dto.CategoryDto;
+import ru.practicum.ewm.categories.model.Category;
+import ru.practicum.ewm.categories.service.CategoryService;
+import ru.practicum.ewm.exception.NotFoundException;
+import ru.practicum.ewm.user.dto.UserCreateDto;
+import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.user.repository.UserRepository;
+import ru.practicum.ewm.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MainApp.class, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Тестирование кэша второго уровня")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Повторное чтение категории не обращается к базе")
+    void getCategoryById_repeatedRead_servedFromCache() {
+        Category category = categoryService.create(new CategoryDto("Фильмы"));
+        categoryService.getCategoryById(category.getId());
+        Statistics statistics = statistics();
+
+        categoryService.getCategoryById(category.getId());
+        categoryService.getCategoryById(category.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("categories").getHitCount());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "categories").tag("result", "hit").functionCounter().count() >= 2);
+    }
+
+    @Test
+    @DisplayName("Изменение и удаление категории сбрасывают кэш")
+    void updateAndDelete_category_invalidateCache() {
+        Category category = categoryService.create(new CategoryDto("Фильмы"));
+        categoryService.getCategoryById(category.getId());
+
+        categoryService.update(category.getId(), new CategoryDto("Сериалы"));
+        assertEquals("Сериалы", categoryService.getCategoryById(category.getId()).getName());
+
+        categoryService.delete(category.getId());
+        assertThrows(NotFoundException.class, () -> categoryService.getCategoryById(category.getId()));
+    }
+
+    @Test
+    @DisplayName("Список категорий берётся из кэша запросов до изменения таблицы")
+    void getAllCategories_queryCache_invalidatedOnCreate() {
+        categoryService.create(new CategoryDto("Фильмы"));
+        assertEquals(1, categoryService.getAllCategories(0, 10).size());
+        Statistics statistics = statistics();
+
+        assertEquals(1, categoryService.getAllCategories(0, 10).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        categoryService.create(new CategoryDto("Книги"));
+        assertEquals(2, categoryService.getAllCategories(0, 10).size());
+    }
+
+    @Test
+    @DisplayName("Удаление пользователя сбрасывает кэш")
+    void deleteUser_invalidateCache() {
+        User user = userService.createUser(new UserCreateDto("User", "user@email.ru"));
+        assertTrue(userRepository.findById(user.getId()).isPresent());
+
+        userService.deleteUser(user.getId());
+
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.ewm.compilation;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.ewm.categories.model.Category;
+import ru.practicum.ewm.categories.repository.CategoryRepository;
+import ru.practicum.ewm.compilation.dto.CompilationDto;
+import ru.practicum.ewm.compilation.model.Compilation;
+import ru.practicum.ewm.compilation.repository.CompilationRepository;
+import ru.practicum.ewm.compilation.service.CompilationService;
+import ru.practicum.ewm.event.dto.EventShortDto;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.user.repository.UserRepository;
+import ru.practicum.ewm.utils.EventState;
+import ru.practicum.stat.StatisticsClient;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = MainApp.class, properties = {
+        "views-sync.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Количество SQL-запросов при получении подборок")
+public class CompilationQueryCountTest {
+
+    @Autowired
+    private CompilationService compilationService;
+
+    @Autowired
+    private CompilationRepository compilationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private StatisticsClient statisticsClient;
+
+    @DisplayName("Число запросов не зависит от количества подборок и событий в них")
+    @Test
+    void getAllCompilations_moreCompilationsAndEvents_sameStatementCount() {
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    List<String> uris = invocation.getArgument(2);
+                    return CompletableFuture.completedFuture(uris.stream()
+                            .collect(Collectors.toMap(uri -> uri, uri -> 7L)));
+                });
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+
+        createCompilations(initiator, 2, 3);
+        long fewStatements = countStatements(2, 3);
+
+        createCompilations(initiator, 3, 6);
+        long moreStatements = countStatements(3, 6);
+
+        assertEquals(fewStatements, moreStatements);
+        assertTrue(moreStatements <= 3, "запросов: " + moreStatements);
+    }
+
+    @DisplayName("События подборки содержат просмотры и подтверждённые заявки")
+    @Test
+    void findCompilationById_eventsHaveViewsAndConfirmedRequests() {
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    List<String> uris = invocation.getArgument(2);
+                    return CompletableFuture.completedFuture(uris.stream()
+                            .collect(Collectors.toMap(uri -> uri, uri -> 7L)));
+                });
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+        Long compilationId = createCompilations(initiator, 1, 2).get(0).getId();
+
+        CompilationDto compilation = compilationService.findCompilationById(compilationId);
+
+        assertEquals(2, compilation.getEvents().size());
+        for (EventShortDto event : compilation.getEvents()) {
+            assertEquals(7L, event.getViews());
+            assertEquals(3L, event.getConfirmedRequests());
+            assertEquals("Initiator", event.getInitiator().getName());
+        }
+        assertTrue(compilation.getEvents().get(0).getId() < compilation.getEvents().get(1).getId());
+    }
+
+    private long countStatements(int expectedCompilations, int expectedEvents) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CompilationDto> compilations = compilationService.getAllCompilations(0, 10, null);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(expectedCompilations, compilations.size());
+        compilations.forEach(compilation -> assertEquals(expectedEvents, compilation.getEvents().size()));
+        return statements;
+    }
+
+    private List<Compilation> createCompilations(User initiator, int compilations, int eventsPerCompilation) {
+        compilationRepository.deleteAll();
+        return IntStream.range(0, compilations)
+                .mapToObj(c -> {
+                    HashSet<Event> events = new HashSet<>();
+                    for (int i = 0; i < eventsPerCompilation; i++) {
+                        Event event = new Event();
+                        event.setTitle("Event " + c + "-" + i);
+                        event.setInitiator(initiator);
+                        event.setCategory(categoryRepository.save(new Category(null, "Category " + c + "-" + i)));
+                        event.setState(EventState.PUBLISHED);
+                        event.setCreatedOn(LocalDateTime.now().minusDays(1));
+                        event.setEventDate(LocalDateTime.now().plusDays(1));
+                        event.setConfirmedRequests(3);
+                        events.add(eventRepository.save(event));
+                    }
+                    return compilationRepository.save(new Compilation(null, false, "Compilation " + c, events));
+                })
+                .toList();
+    }
+}
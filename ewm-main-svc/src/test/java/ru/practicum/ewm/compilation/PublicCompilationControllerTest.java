@@ -1,12 +1,17 @@
 package ru.practicum.ewm.compilation;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.ewm.cache.PublicResponseCache;
 import ru.practicum.ewm.compilation.controller.PublicCompilationController;
 import ru.practicum.ewm.compilation.dto.CompilationDto;
 import ru.practicum.ewm.compilation.service.CompilationService;
@@ -19,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PublicCompilationController.class)
+@Import({PublicResponseCache.class, SimpleMeterRegistry.class})
 @DisplayName("Тестирование PublicCompilationController")
 public class PublicCompilationControllerTest {
 
@@ -28,9 +34,17 @@ public class PublicCompilationControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @MockBean
     private CompilationService compilationService;
 
+    @BeforeEach
+    void clearCache() {
+        responseCache.invalidate(PublicResponseCache.COMPILATIONS);
+    }
+
     @DisplayName("Получение всех подборок")
     @Test
     void getAllCompilations_withoutFilter_shouldReturnList() throws Exception {
@@ -107,4 +121,50 @@ public class PublicCompilationControllerTest {
         mockMvc.perform(get("/compilations/999"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @DisplayName("Условный запрос с актуальным ETag получает 304 без обращения к сервису")
+    @Test
+    void getAllCompilations_matchingETag_shouldReturnNotModified() throws Exception {
+        CompilationDto dto = new CompilationDto();
+        dto.setId(1L);
+        dto.setTitle("Подборка");
+        dto.setPinned(false);
+        when(compilationService.getAllCompilations(0, 10, null)).thenReturn(List.of(dto));
+
+        String etag = mockMvc.perform(get("/compilations"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/compilations").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/compilations").header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Подборка"));
+
+        verify(compilationService, times(1)).getAllCompilations(0, 10, null);
+    }
+
+    @DisplayName("После сброса кэша подборки загружаются заново и получают новый ETag")
+    @Test
+    void getAllCompilations_afterInvalidation_shouldReload() throws Exception {
+        CompilationDto dto = new CompilationDto();
+        dto.setId(1L);
+        dto.setTitle("Подборка");
+        dto.setPinned(false);
+        when(compilationService.getAllCompilations(0, 10, null)).thenReturn(List.of(dto));
+
+        String etag = mockMvc.perform(get("/compilations"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        dto.setTitle("Новое название");
+        responseCache.invalidate(PublicResponseCache.COMPILATIONS);
+
+        mockMvc.perform(get("/compilations").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Новое название"));
+        verify(compilationService, times(2)).getAllCompilations(0, 10, null);
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.ewm.event;
+
+import jakarta.persistence.criteria.Join;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.service.EventGeoSearch;
+import ru.practicum.ewm.location.model.Location;
+import ru.practicum.ewm.utils.EventState;
+import ru.practicum.stat.StatisticsClient;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.ewm.location.repository.LocationFunctionContributor.DISTANCE_FUNCTION;
+
+/**
+ * Поиск событий в радиусе 5 км среди 1 000 000 опубликованных событий, равномерно распределённых по области 10° × 10°.
+ * Замеряется тот же запрос к events, что строит поиск событий: спецификация с EventGeoSearch.within
+ * на схеме, созданной миграциями Flyway, сравнивается с проверкой одного расстояния без ограничивающего прямоугольника.
+ * Запуск: mvn test -Dtest=EventGeoSearchBenchmarkTest -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/ewmdb
+ * -Dbenchmark.postgres.user=admin -Dbenchmark.postgres.password=admin
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@SpringBootTest(classes = MainApp.class, properties = {
+        "spring.datasource.url=${benchmark.postgres.url}",
+        "spring.datasource.username=${benchmark.postgres.user:admin}",
+        "spring.datasource.password=${benchmark.postgres.password:admin}",
+        "spring.datasource.hikari.schema=" + EventGeoSearchBenchmarkTest.SCHEMA,
+        "spring.flyway.schemas=" + EventGeoSearchBenchmarkTest.SCHEMA,
+        "views-sync.enabled=false"
+})
+@DisplayName("Бенчмарк поиска событий в радиусе")
+public class EventGeoSearchBenchmarkTest {
+
+    static final String SCHEMA = "ewm_geo_benchmark";
+
+    private static final int EVENTS = 1_000_000;
+
+    private static final double LAT = 55.751;
+    private static final double LON = 37.618;
+    private static final double RADIUS_KM = 5;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventGeoSearch eventGeoSearch;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private StatisticsClient statisticsClient;
+
+    @BeforeAll
+    static void dropSchema() throws SQLException {
+        executeAsAdmin("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @AfterAll
+    static void cleanUp() throws SQLException {
+        executeAsAdmin("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @DisplayName("Поиск в радиусе по GiST-индексу укладывается в 10 мс на 1 000 000 событий")
+    @Test
+    void radiusSearch_millionEvents_under10ms() {
+        jdbcTemplate.execute("INSERT INTO locations (id, latitude, longitude) "
+                + "SELECT i, 50 + random() * 10, 30 + random() * 10 FROM generate_series(1, " + EVENTS + ") AS i");
+        jdbcTemplate.execute("INSERT INTO events (id, location_id, title, state, event_date, confirmed_requests, views) "
+                + "SELECT i, i, 'title ' || i, 'PUBLISHED', TIMESTAMP '2030-01-01', 0, 0 "
+                + "FROM generate_series(1, " + EVENTS + ") AS i");
+        jdbcTemplate.execute("ANALYZE");
+
+        Specification<Event> published = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("state"), EventState.PUBLISHED);
+        Specification<Event> withinRadius = published.and((root, query, criteriaBuilder) ->
+                eventGeoSearch.within(root, criteriaBuilder, LAT, LON, RADIUS_KM));
+        Specification<Event> distanceOnly = published.and((root, query, criteriaBuilder) -> {
+            Join<Event, Location> location = root.join("location");
+            return criteriaBuilder.le(criteriaBuilder.function(DISTANCE_FUNCTION, Double.class,
+                    location.get("latitude"), location.get("longitude"),
+                    criteriaBuilder.literal(LAT), criteriaBuilder.literal(LON)), RADIUS_KM);
+        });
+
+        long found = eventRepository.findAll(withinRadius, PageRequest.of(0, 10)).getTotalElements();
+        long scanNanos = measure(distanceOnly);
+        long indexNanos = measure(withinRadius);
+
+        log.info("Найдено {} событий; только расстояние: {} мс, EventGeoSearch: {} мс",
+                found, scanNanos / 1_000_000, indexNanos / 1_000_000.0);
+        assertEquals(eventRepository.findAll(distanceOnly, PageRequest.of(0, 10)).getTotalElements(), found);
+        assertTrue(indexNanos < 10_000_000);
+        assertTrue(indexNanos < scanNanos);
+    }
+
+    private long measure(Specification<Event> specification) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            Page<Event> page = eventRepository.findAll(specification, PageRequest.of(0, 10));
+            page.getContent().forEach(Event::getId);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static void executeAsAdmin(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.postgres.url"),
+                System.getProperty("benchmark.postgres.user", "admin"),
+                System.getProperty("benchmark.postgres.password", "admin"));
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.ewm.event;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.ewm.categories.model.Category;
+import ru.practicum.ewm.categories.repository.CategoryRepository;
+import ru.practicum.ewm.event.dto.EventSearchDto;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.service.EventService;
+import ru.practicum.ewm.location.model.Location;
+import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.user.repository.UserRepository;
+import ru.practicum.ewm.utils.EventState;
+import ru.practicum.stat.StatisticsClient;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = MainApp.class, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Количество SQL-запросов при получении списков событий")
+public class EventListingQueryCountTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private StatisticsClient statisticsClient;
+
+    @DisplayName("Число запросов не зависит от количества событий в списке")
+    @Test
+    void findAll_moreEvents_sameStatementCount() {
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+        createEvents(initiator, 0, 2);
+        long[] fewEvents = countStatements(initiator.getId(), 2);
+
+        createEvents(initiator, 2, 6);
+        long[] moreEvents = countStatements(initiator.getId(), 6);
+
+        assertEquals(fewEvents[0], moreEvents[0], "findAllByAdmin");
+        assertEquals(fewEvents[1], moreEvents[1], "findAllByPrivate");
+        assertEquals(fewEvents[2], moreEvents[2], "findAllByPublic");
+        for (long statements : moreEvents) {
+            assertTrue(statements <= 3, "запросов: " + statements);
+        }
+    }
+
+    private long[] countStatements(Long initiatorId, int expectedEvents) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long[] counts = new long[3];
+
+        statistics.clear();
+        Collection<?> adminEvents = eventService.findAllByAdmin(new EventSearchDto(),
+                new MockHttpServletRequest("GET", "/admin/events"));
+        counts[0] = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Collection<?> privateEvents = eventService.findAllByPrivate(initiatorId, 0, 10,
+                new MockHttpServletRequest("GET", "/users/" + initiatorId + "/events"));
+        counts[1] = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Collection<?> publicEvents = eventService.findAllByPublic(new EventSearchDto(),
+                new MockHttpServletRequest("GET", "/events"));
+        counts[2] = statistics.getPrepareStatementCount();
+
+        assertEquals(expectedEvents, adminEvents.size());
+        assertEquals(expectedEvents, privateEvents.size());
+        assertEquals(expectedEvents, publicEvents.size());
+        return counts;
+    }
+
+    private void createEvents(User initiator, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setInitiator(initiator);
+            event.setCategory(categoryRepository.save(new Category(null, "Category " + i)));
+            event.setLocation(new Location(null, 55.75f + i, 37.62f));
+            event.setState(EventState.PUBLISHED);
+            event.setEventDate(LocalDateTime.now().plusDays(1));
+            eventRepository.save(event);
+        }
+    }
+}
@@ -1,34 +1,53 @@
 package ru.practicum.ewm.event;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.ewm.MainApp;
 import ru.practicum.ewm.categories.dto.CategoryDto;
 import ru.practicum.ewm.categories.model.Category;
 import ru.practicum.ewm.categories.service.CategoryService;
+import ru.practicum.ewm.event.dto.EventCursor;
+import ru.practicum.ewm.event.dto.EventCursorPage;
 import ru.practicum.ewm.event.dto.EventSearchDto;
 import ru.practicum.ewm.event.dto.EventShortDto;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.event.repository.EventRepository;
 import ru.practicum.ewm.event.service.EventService;
+import ru.practicum.ewm.event.service.EventViewsSync;
 import ru.practicum.ewm.exception.IncorrectRequestException;
+import ru.practicum.ewm.location.model.Location;
 import ru.practicum.ewm.user.dto.UserCreateDto;
 import ru.practicum.ewm.user.model.User;
 import ru.practicum.ewm.user.service.UserService;
 import ru.practicum.ewm.utils.EventState;
+import ru.practicum.stat.StatisticsClient;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
-
-@SpringBootTest(classes = MainApp.class)
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = MainApp.class, properties = "views-sync.enabled=false")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @DisplayName("Тестирование метода findAllByPublic")
 public class EventServiceFindAllByPublicTest {
@@ -45,6 +64,15 @@ public class EventServiceFindAllByPublicTest {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private StatisticsClient statisticsClient;
+
+    @SpyBean
+    private EventViewsSync eventViewsSync;
+
     @DisplayName("Успешный поиск событий")
     @Test
     void findAllByPublic_Success() {
@@ -247,4 +275,252 @@ public class EventServiceFindAllByPublicTest {
 
         assertTrue(exception.getMessage().contains("Unknown sort type"));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Просмотры для всей страницы запрашиваются одним вызовом сервиса статистики")
+    @Test
+    void findAllByPublic_ManyEvents_SingleStatsRequestPerPage() {
+        User user = userService.createUser(new UserCreateDto("User", "user@email.ru"));
+        Category category = categoryService.create(new CategoryDto("Category"));
+        int pageSize = 30;
+        for (int i = 0; i < pageSize; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setCategory(category);
+            event.setInitiator(user);
+            event.setState(EventState.PUBLISHED);
+            event.setCreatedOn(LocalDateTime.now().minusDays(1));
+            event.setEventDate(LocalDateTime.now().plusDays(1));
+            eventRepository.save(event);
+        }
+        Event viewedEvent = eventRepository.findAll().getFirst();
+
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("/events/" + viewedEvent.getId(), 5L)));
+
+        EventSearchDto params = new EventSearchDto();
+        params.setFrom(0);
+        params.setSize(pageSize);
+        HttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/events");
+
+        Collection<EventShortDto> events = eventService.findAllByPublic(params, mockRequest);
+
+        assertEquals(pageSize, events.size());
+        verify(statisticsClient, times(1)).getHitsByUriAsync(any(), any(), anyList(), anyBoolean());
+        EventShortDto viewed = events.stream()
+                .filter(event -> event.getId().equals(viewedEvent.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(5L, viewed.getViews());
+    }
+
+    @DisplayName("Сортировка по просмотрам выполняется до пагинации")
+    @Test
+    void findAllByPublic_SortByViewsBeforePagination() {
+        User user = userService.createUser(new UserCreateDto("User", "user@email.ru"));
+        Category category = categoryService.create(new CategoryDto("Category"));
+        long[] views = {1, 5, 3, 40, 2, 30};
+        for (int i = 0; i < views.length; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + views[i]);
+            event.setCategory(category);
+            event.setInitiator(user);
+            event.setState(EventState.PUBLISHED);
+            event.setEventDate(LocalDateTime.now().plusDays(1));
+            event.setViews(views[i]);
+            eventRepository.save(event);
+        }
+        doReturn(true).when(eventViewsSync).isFresh();
+
+        EventSearchDto params = new EventSearchDto();
+        params.setSort("VIEWS");
+        params.setFrom(0);
+        params.setSize(2);
+        HttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/events");
+
+        Collection<EventShortDto> events = eventService.findAllByPublic(params, mockRequest);
+
+        assertEquals(List.of("Event 40", "Event 30"), events.stream().map(EventShortDto::getTitle).toList());
+    }
+
+    @DisplayName("Без синхронизации просмотров сортировка идёт в БД по events.views, они же показываются на странице")
+    @Test
+    void findAllByPublic_SortByViewsWithSyncDisabled_SortsByColumnViews() {
+        saveEventsWithViews();
+
+        EventSearchDto params = new EventSearchDto();
+        params.setSort("VIEWS");
+        params.setFrom(0);
+        params.setSize(2);
+        HttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/events");
+
+        List<EventShortDto> events = new ArrayList<>(eventService.findAllByPublic(params, mockRequest));
+
+        assertEquals(List.of("Event 40", "Event 30"), events.stream().map(EventShortDto::getTitle).toList());
+        assertEquals(List.of(40L, 30L), events.stream().map(EventShortDto::getViews).toList());
+        verify(statisticsClient, never()).getHitsByUriAsync(any(), any(), any(), anyBoolean());
+        assertEquals(1.0, meterRegistry.counter("events.views.sort.stale").count());
+    }
+
+    @DisplayName("Без синхронизации просмотров курсор проходит события по events.views")
+    @Test
+    void findAllByPublicWithCursor_SortByViewsWithSyncDisabled_PagesByColumnViews() {
+        saveEventsWithViews();
+
+        EventSearchDto params = new EventSearchDto();
+        params.setSort("VIEWS");
+        params.setSize(4);
+        HttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/events");
+
+        List<Long> views = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            params.setCursor(cursor);
+            EventCursorPage<EventShortDto> page = eventService.findAllByPublicWithCursor(params, mockRequest);
+            page.events().forEach(event -> views.add(event.getViews()));
+            cursor = page.nextCursor();
+        }
+
+        assertEquals(List.of(40L, 30L, 5L, 3L, 2L, 1L), views);
+        verify(statisticsClient, never()).getHitsByUriAsync(any(), any(), any(), anyBoolean());
+        assertEquals(2.0, meterRegistry.counter("events.views.sort.stale").count());
+    }
+
+    /**
+     * Сохраняет события с заполненным events.views, а сервис статистики отвечает другими значениями.
+     */
+    private void saveEventsWithViews() {
+        User user = userService.createUser(new UserCreateDto("User", "user@email.ru"));
+        Category category = categoryService.create(new CategoryDto("Category"));
+        long[] views = {1, 5, 3, 40, 2, 30};
+        Map<String, Long> statsViews = new HashMap<>();
+        for (long eventViews : views) {
+            Event event = new Event();
+            event.setTitle("Event " + eventViews);
+            event.setCategory(category);
+            event.setInitiator(user);
+            event.setState(EventState.PUBLISHED);
+            event.setCreatedOn(LocalDateTime.now().minusDays(1));
+            event.setEventDate(LocalDateTime.now().plusDays(1));
+            event.setViews(eventViews);
+            statsViews.put("/events/" + eventRepository.save(event).getId(), 100 - eventViews);
+        }
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(statsViews));
+    }
+
+    @DisplayName("Постраничный обход по курсору без пропусков и повторов")
+    @Test
+    void findAllByPublicWithCursor_PagesThroughAllEvents() {
+        User user = userService.createUser(new UserCreateDto("User", "user@email.ru"));
+        Category category = categoryService.create(new CategoryDto("Category"));
+        LocalDateTime eventDate = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 7; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setCategory(category);
+            event.setInitiator(user);
+            event.setState(EventState.PUBLISHED);
+            // у части событий одинаковая дата, порядок среди них задаёт id
+            event.setEventDate(eventDate.plusHours(i / 3));
+            eventRepository.save(event);
+        }
+
+        EventSearchDto params = new EventSearchDto();
+        params.setSort("EVENT_DATE");
+        params.setSize(3);
+        params.setCursor("");
+        HttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/events");
+
+        List<Long> ids = new ArrayList<>();
+        List<LocalDateTime> dates = new ArrayList<>();
+        int pages = 0;
+        String cursor = "";
+        while (cursor != null) {
+            params.setCursor(cursor);
+            EventCursorPage<EventShortDto> page = eventService.findAllByPublicWithCursor(params, mockRequest);
+            page.events().forEach(event -> {
+                ids.add(event.getId());
+                dates.add(event.getEventDate());
+            });
+            cursor = page.nextCursor();
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(7, ids.size());
+        assertEquals(7, new HashSet<>(ids).size());
+        List<LocalDateTime> sortedDates = new ArrayList<>(dates);
+        sortedDates.sort(null);
+        assertEquals(sortedDates, dates);
+    }
+
+    @DisplayName("Некорректный курсор")
+    @Test
+    void findAllByPublicWithCursor_InvalidCursor() {
+        EventSearchDto params = new EventSearchDto();
+        params.setCursor("не-курсор");
+        HttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/events");
+
+        assertThrows(IncorrectRequestException.class, () -> eventService.findAllByPublicWithCursor(params, mockRequest));
+    }
+
+    @DisplayName("Курсор другой сортировки")
+    @Test
+    void findAllByPublicWithCursor_CursorOfAnotherSort() {
+        EventSearchDto params = new EventSearchDto();
+        params.setSort("VIEWS");
+        params.setCursor(new EventCursor("EVENT_DATE", LocalDateTime.now().toString(), 1L).encode());
+        HttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/events");
+
+        assertThrows(IncorrectRequestException.class, () -> eventService.findAllByPublicWithCursor(params, mockRequest));
+    }
+
+    @DisplayName("Проверка поиска событий в радиусе от точки")
+    @Test
+    void findAllByPublic_FilterByRadius() {
+        User user = userService.createUser(new UserCreateDto("User", "user@email.ru"));
+        Category category = categoryService.create(new CategoryDto("Category"));
+        saveEventAt(user, category, "Kremlin", 55.752f, 37.617f);
+        saveEventAt(user, category, "Luzhniki", 55.716f, 37.554f);
+        saveEventAt(user, category, "Hermitage", 59.940f, 30.314f);
+
+        EventSearchDto params = new EventSearchDto();
+        params.setLat(55.751);
+        params.setLon(37.618);
+        params.setRadius(10.0);
+        HttpServletRequest mockRequest = new MockHttpServletRequest();
+
+        Collection<EventShortDto> events = eventService.findAllByPublic(params, mockRequest);
+
+        assertEquals(List.of("Kremlin", "Luzhniki"), events.stream().map(EventShortDto::getTitle).sorted().toList());
+
+        params.setRadius(1.0);
+        events = eventService.findAllByPublic(params, mockRequest);
+
+        assertEquals(List.of("Kremlin"), events.stream().map(EventShortDto::getTitle).toList());
+    }
+
+    @DisplayName("Проверка исключения при неполных параметрах поиска по месту")
+    @Test
+    void findAllByPublic_RadiusWithoutCoordinates_ThrowsException() {
+        EventSearchDto params = new EventSearchDto();
+        params.setLat(55.751);
+        params.setRadius(10.0);
+        HttpServletRequest mockRequest = new MockHttpServletRequest();
+
+        assertThrows(IncorrectRequestException.class, () -> eventService.findAllByPublic(params, mockRequest));
+    }
+
+    private void saveEventAt(User user, Category category, String title, float lat, float lon) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setAnnotation("Annotation");
+        event.setDescription("Description");
+        event.setCategory(category);
+        event.setInitiator(user);
+        event.setState(EventState.PUBLISHED);
+        event.setEventDate(LocalDateTime.now().plusDays(1));
+        event.setLocation(new Location(null, lat, lon));
+        eventRepository.save(event);
+    }
+}
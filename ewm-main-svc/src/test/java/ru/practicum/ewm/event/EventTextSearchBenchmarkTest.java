@@ -0,0 +1,86 @@
+package ru.practicum.ewm.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.ewm.event.repository.EventSearchFunctionContributor.searchVector;
+
+/**
+ * Сравнение поиска по LIKE и полнотекстового поиска на 1 000 000 событий.
+ * Искомое слово встречается в одном событии из 10 000, поэтому LIKE просматривает всю таблицу.
+ * Полнотекстовый поиск находит слово в другой форме («фестиваль» по «фестивали»).
+ * Запуск: mvn test -Dtest=EventTextSearchBenchmarkTest -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/ewmdb
+ * -Dbenchmark.postgres.user=admin -Dbenchmark.postgres.password=admin
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@DisplayName("Бенчмарк полнотекстового поиска событий")
+public class EventTextSearchBenchmarkTest {
+
+    private static final int EVENTS = 1_000_000;
+
+    private static final String VECTOR = searchVector("title", "annotation", "description");
+
+    @DisplayName("Полнотекстовый поиск по индексу быстрее LIKE на 1 000 000 событий")
+    @Test
+    void search_millionEvents_fullTextFasterThanLike() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.postgres.url"),
+                System.getProperty("benchmark.postgres.user", "admin"),
+                System.getProperty("benchmark.postgres.password", "admin"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS events_search_benchmark");
+            statement.execute("CREATE TABLE events_search_benchmark (id BIGINT PRIMARY KEY, title VARCHAR(120), "
+                    + "annotation VARCHAR(2000), description VARCHAR(7000))");
+            statement.execute("INSERT INTO events_search_benchmark "
+                    + "SELECT i, "
+                    + "(ARRAY['Концерт','Выставка','Лекция','Concert','Workshop','Meetup'])[1 + i % 6] || ' ' || i, "
+                    + "(ARRAY['джазовой музыки','современного искусства','о космосе','of jazz music','on databases',"
+                    + "'about running'])[1 + (i / 7) % 6] || ' в городе ' || (i % 1000), "
+                    + "repeat('Подробное описание события с программой и участниками. Detailed event description. ', 5)"
+                    + " || (ARRAY['гитаристы','художники','астрономы','guitarists','developers','runners'])[1 + (i / 11) % 6]"
+                    + " || CASE WHEN i % 10000 = 0 THEN ' фестивали' ELSE '' END "
+                    + "FROM generate_series(1, " + EVENTS + ") AS i");
+            statement.execute("CREATE INDEX ON events_search_benchmark USING GIN (" + VECTOR + ")");
+            statement.execute("ANALYZE events_search_benchmark");
+
+            long likeNanos = measure(connection, "SELECT id FROM events_search_benchmark "
+                    + "WHERE lower(annotation) LIKE ? OR lower(description) LIKE ? LIMIT 10", "%фестивал%", "%фестивал%");
+            long fullTextNanos = measure(connection, "SELECT id FROM events_search_benchmark "
+                    + "WHERE " + VECTOR + " @@ websearch_to_tsquery('russian', ?) "
+                    + "ORDER BY ts_rank_cd(" + VECTOR + ", websearch_to_tsquery('russian', ?)) DESC LIMIT 10",
+                    "фестиваль", "фестиваль");
+
+            log.info("LIKE: {} мс, полнотекстовый поиск: {} мс", likeNanos / 1_000_000, fullTextNanos / 1_000_000);
+            statement.execute("DROP TABLE events_search_benchmark");
+            assertTrue(fullTextNanos < likeNanos);
+        }
+    }
+
+    private long measure(Connection connection, String sql, String first, String second) throws SQLException {
+        long best = Long.MAX_VALUE;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, first);
+            statement.setString(2, second);
+            for (int i = 0; i < 5; i++) {
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getLong(1);
+                    }
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.ewm.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.event.service.EventViewsCache;
+import ru.practicum.stat.StatisticsClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тестирование EventViewsCache")
+public class EventViewsCacheTest {
+
+    private final StatisticsClient statisticsClient = mock(StatisticsClient.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static final LocalDateTime CREATED_ON = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @DisplayName("Повторный запрос просмотров обслуживается из кэша")
+    @Test
+    void getViews_repeatedRequest_singleStatsCall() {
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("/events/1", 7L)));
+        EventViewsCache cache = new EventViewsCache(statisticsClient, meterRegistry, 100, 45_000, 600_000);
+
+        Map<String, Long> views = cache.getViews(Map.of("/events/1", CREATED_ON, "/events/2", CREATED_ON));
+        Long cachedViews = cache.getViews("/events/1", CREATED_ON);
+
+        assertEquals(7L, views.get("/events/1"));
+        assertEquals(0L, views.get("/events/2"));
+        assertEquals(7L, cachedViews);
+        verify(statisticsClient, times(1)).getHitsByUriAsync(any(), any(), anyList(), anyBoolean());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "event-views").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @DisplayName("При ошибке сервиса статистики остаётся последнее известное значение")
+    @Test
+    void getViews_statsServerFailsOnRefresh_returnLastKnownValue() {
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("/events/1", 7L)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("stats-server недоступен")));
+        EventViewsCache cache = newCacheWithFakeTime(45_000, 600_000);
+
+        assertEquals(7L, cache.getViews("/events/1", CREATED_ON));
+        advance(Duration.ofMillis(45_001));
+        assertEquals(7L, cache.getViews("/events/1", CREATED_ON));
+
+        verify(statisticsClient, times(2)).getHitsByUriAsync(any(), any(), anyList(), anyBoolean());
+        assertEquals(7L, cache.getViews("/events/1", CREATED_ON));
+    }
+
+    @DisplayName("Просмотры запрашиваются одним вызовом с даты создания самого раннего события")
+    @Test
+    void getViews_severalEvents_requestFromEarliestCreatedOn() {
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("/events/1", 7L, "/events/2", 3L)));
+        EventViewsCache cache = new EventViewsCache(statisticsClient, meterRegistry, 100, 45_000, 600_000);
+
+        Map<String, Long> views = cache.getViews(Map.of("/events/1", CREATED_ON, "/events/2", CREATED_ON.plusDays(1)));
+
+        assertEquals(Map.of("/events/1", 7L, "/events/2", 3L), views);
+        verify(statisticsClient).getHitsByUriAsync(eq(CREATED_ON), any(),
+                argThat(uris -> uris.size() == 2 && uris.containsAll(List.of("/events/1", "/events/2"))), eq(true));
+    }
+
+    @DisplayName("Для события без даты создания сервис статистики не запрашивается")
+    @Test
+    void getViews_noCreatedOn_noStatsCall() {
+        EventViewsCache cache = new EventViewsCache(statisticsClient, meterRegistry, 100, 45_000, 600_000);
+
+        assertEquals(0L, cache.getViews("/events/1", null));
+        verify(statisticsClient, never()).getHitsByUriAsync(any(), any(), anyList(), anyBoolean());
+    }
+
+    @DisplayName("Значение, которое не удаётся обновить, удаляется по истечении expire-after-ms")
+    @Test
+    void getViews_statsServerKeepsFailing_valueExpires() {
+        when(statisticsClient.getHitsByUriAsync(any(), any(), anyList(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("/events/1", 7L)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("stats-server недоступен")));
+        EventViewsCache cache = newCacheWithFakeTime(45_000, 600_000);
+
+        assertEquals(7L, cache.getViews("/events/1", CREATED_ON));
+        advance(Duration.ofMillis(45_001));
+        assertEquals(7L, cache.getViews("/events/1", CREATED_ON));
+        advance(Duration.ofMillis(555_000));
+
+        assertEquals(0L, cache.getViews("/events/1", CREATED_ON));
+    }
+
+    @DisplayName("Срок жизни значения должен быть больше интервала обновления")
+    @Test
+    void constructor_expireNotAfterRefresh_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EventViewsCache(statisticsClient, meterRegistry, 100, 45_000, 45_000));
+    }
+
+    /**
+     * Кэш со временем, которое сдвигается только через {@link #advance}, и обновлением в вызывающем потоке.
+     */
+    private EventViewsCache newCacheWithFakeTime(long refreshAfterMs, long expireAfterMs) {
+        return new EventViewsCache(statisticsClient, meterRegistry, 100, refreshAfterMs, expireAfterMs,
+                nanos::get, Runnable::run);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.ewm.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.event.model.SyncWatermark;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.repository.SyncWatermarkRepository;
+import ru.practicum.ewm.event.service.EventViewsSync;
+import ru.practicum.stat.StatisticsClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тестирование EventViewsSync")
+public class EventViewsSyncTest {
+
+    private final StatisticsClient statisticsClient = mock(StatisticsClient.class);
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+
+    private final SyncWatermarkRepository watermarkRepository = mock(SyncWatermarkRepository.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @DisplayName("Просмотры пересчитываются только для событий с новыми хитами")
+    @Test
+    void sync_changedEvents_updateViews() {
+        when(statisticsClient.getHitsByUri(any(), any(), isNull(), eq(false)))
+                .thenReturn(Map.of("/events/1", 3L, "/events/2", 1L, "/events", 10L));
+        when(statisticsClient.getHitsByUri(any(), any(), anyList(), eq(true)))
+                .thenReturn(Map.of("/events/1", 2L, "/events/2", 1L));
+        LocalDateTime createdOn = LocalDateTime.of(2024, 3, 1, 12, 0);
+        when(eventRepository.findEarliestCreatedOn(anyCollection())).thenReturn(Optional.of(createdOn));
+        EventViewsSync sync = new EventViewsSync(statisticsClient, eventRepository, watermarkRepository, meterRegistry,
+                true, 500, 10_000, 120_000);
+
+        assertFalse(sync.isFresh());
+        sync.sync();
+
+        verify(eventRepository).updateViews(Map.of(1L, 2L, 2L, 1L));
+        verify(statisticsClient).getHitsByUri(eq(createdOn), any(),
+                argThat(uris -> uris != null && uris.size() == 2 && uris.containsAll(List.of("/events/1", "/events/2"))), eq(true));
+        assertTrue(sync.isFresh());
+        assertEquals(2.0, meterRegistry.get("events.views.sync.events").counter().count());
+    }
+
+    @DisplayName("Следующий запуск начинается с водяного знака с учётом перекрытия")
+    @Test
+    void sync_secondRun_startsFromWatermark() {
+        LocalDateTime earliestCreatedOn = LocalDateTime.of(2024, 3, 1, 12, 0);
+        when(eventRepository.findEarliestCreatedOn()).thenReturn(Optional.of(earliestCreatedOn));
+        when(statisticsClient.getHitsByUri(any(), any(), isNull(), eq(false))).thenReturn(Map.of());
+        EventViewsSync sync = new EventViewsSync(statisticsClient, eventRepository, watermarkRepository, meterRegistry,
+                true, 500, 10_000, 120_000);
+
+        LocalDateTime beforeFirstRun = LocalDateTime.now().withNano(0);
+        sync.sync();
+        sync.sync();
+
+        verify(statisticsClient).getHitsByUri(eq(earliestCreatedOn), any(), isNull(), eq(false));
+        verify(statisticsClient).getHitsByUri(
+                argThat(start -> !start.isBefore(beforeFirstRun.minusSeconds(10))), any(), isNull(), eq(false));
+        verify(eventRepository, never()).updateViews(anyMap());
+    }
+
+    @DisplayName("Водяной знак сохраняется в базе и используется после перезапуска")
+    @Test
+    void sync_persistedWatermark_resumesAfterRestart() {
+        LocalDateTime persisted = LocalDateTime.now().withNano(0).minusMinutes(5);
+        when(watermarkRepository.findById("event-views"))
+                .thenReturn(Optional.of(new SyncWatermark("event-views", persisted)));
+        when(statisticsClient.getHitsByUri(any(), any(), isNull(), eq(false))).thenReturn(Map.of());
+        EventViewsSync sync = new EventViewsSync(statisticsClient, eventRepository, watermarkRepository, meterRegistry,
+                true, 500, 10_000, 120_000);
+
+        sync.sync();
+
+        verify(statisticsClient).getHitsByUri(eq(persisted.minusSeconds(10)), any(), isNull(), eq(false));
+        verify(watermarkRepository).save(argThat(watermark -> watermark.getName().equals("event-views")
+                && watermark.getSyncedUntil().isAfter(persisted)));
+        assertTrue(sync.isFresh());
+    }
+
+    @DisplayName("При недоступности сервиса статистики водяной знак не сдвигается")
+    @Test
+    void sync_statsServerFails_staysStale() {
+        when(statisticsClient.getHitsByUri(any(), any(), isNull(), eq(false)))
+                .thenThrow(new IllegalStateException("stats-server недоступен"));
+        EventViewsSync sync = new EventViewsSync(statisticsClient, eventRepository, watermarkRepository, meterRegistry,
+                true, 500, 10_000, 120_000);
+
+        sync.sync();
+
+        assertFalse(sync.isFresh());
+        verify(watermarkRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.get("events.views.sync.failures").counter().count());
+        assertTrue(Double.isNaN(meterRegistry.get("events.views.sync.lag").gauge().value()));
+    }
+}
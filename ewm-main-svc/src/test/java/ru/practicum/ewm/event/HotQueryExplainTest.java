@@ -0,0 +1,163 @@
+package ru.practicum.ewm.event;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Проверка планов горячих запросов на схеме, созданной миграциями Flyway.
+ * Тест падает, если запрос выполняется последовательным сканированием таблицы вместо индекса.
+ * Запуск: mvn test -Dtest=HotQueryExplainTest -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/ewmdb
+ * -Dbenchmark.postgres.user=admin -Dbenchmark.postgres.password=admin
+ */
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@DisplayName("Планы горячих запросов используют индексы")
+public class HotQueryExplainTest {
+
+    private static final String SCHEMA = "ewm_explain";
+
+    private static final int USERS = 1_000;
+
+    private static final int CATEGORIES = 1_000;
+
+    private static final int EVENTS = 100_000;
+
+    private static final int REQUESTS = 300_000;
+
+    private static final int COMPILATIONS = 1_000;
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndFill() throws SQLException {
+        String url = System.getProperty("benchmark.postgres.url");
+        String user = System.getProperty("benchmark.postgres.user", "admin");
+        String password = System.getProperty("benchmark.postgres.password", "admin");
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA);
+            statement.execute("INSERT INTO users (id, name, email) "
+                    + "SELECT i, 'user ' || i, 'user' || i || '@mail.ru' FROM generate_series(1, " + USERS + ") AS i");
+            statement.execute("INSERT INTO categories (id, name) "
+                    + "SELECT i, 'category ' || i FROM generate_series(1, " + CATEGORIES + ") AS i");
+            // опубликовано каждое десятое событие, остальные в ожидании или отменены
+            statement.execute("INSERT INTO events (id, initiator_id, category_id, title, annotation, description, "
+                    + "event_date, paid, participant_limit, request_moderation, state, created_on, published_on, "
+                    + "confirmed_requests, views) "
+                    + "SELECT i, 1 + i % " + USERS + ", 1 + (i / 7) % " + CATEGORIES + ", 'title ' || i, "
+                    + "'annotation ' || i, 'description ' || i, "
+                    + "TIMESTAMP '2025-01-01' + (i % 20000) * INTERVAL '1 hour', i % 2 = 0, i % 50, true, "
+                    + "(ARRAY['PUBLISHED','PENDING','PENDING','PENDING','PENDING','PENDING','PENDING','PENDING',"
+                    + "'CANCELED','CANCELED'])[1 + i % 10], "
+                    + "TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute', NULL, 0, (i * 7919) % 100000 "
+                    + "FROM generate_series(1, " + EVENTS + ") AS i");
+            statement.execute("INSERT INTO requests (id, event_id, requester_id, status, created) "
+                    + "SELECT i, 1 + (i * 31) % " + EVENTS + ", 1 + i % " + USERS + ", "
+                    + "(ARRAY['CONFIRMED','PENDING','REJECTED','CANCELED'])[1 + i % 4], "
+                    + "TIMESTAMP '2024-06-01' + i * INTERVAL '1 second' "
+                    + "FROM generate_series(1, " + REQUESTS + ") AS i");
+            statement.execute("INSERT INTO compilations (id, pinned, title) "
+                    + "SELECT i, i % 2 = 0, 'compilation ' || i FROM generate_series(1, " + COMPILATIONS + ") AS i");
+            statement.execute("INSERT INTO compilations_event (compilation_id, event_id) "
+                    + "SELECT c, 1 + (c * 97 + e * 1009) % " + EVENTS + " "
+                    + "FROM generate_series(1, " + COMPILATIONS + ") AS c, generate_series(1, 10) AS e");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @DisplayName("Опубликованные события по дате")
+    @Test
+    void publishedEventsByDate() throws SQLException {
+        assertIndexed("SELECT * FROM events WHERE state = 'PUBLISHED' AND event_date > TIMESTAMP '2025-06-01' "
+                + "ORDER BY event_date, id LIMIT 10");
+    }
+
+    @DisplayName("Опубликованные события по просмотрам")
+    @Test
+    void publishedEventsByViews() throws SQLException {
+        assertIndexed("SELECT * FROM events WHERE state = 'PUBLISHED' ORDER BY views DESC, id LIMIT 10");
+    }
+
+    @DisplayName("Проверка наличия событий в категории")
+    @Test
+    void eventsOfCategory() throws SQLException {
+        assertIndexed("SELECT 1 FROM events WHERE category_id = 42 LIMIT 1");
+    }
+
+    @DisplayName("События пользователя")
+    @Test
+    void eventsOfInitiator() throws SQLException {
+        assertIndexed("SELECT * FROM events WHERE initiator_id = 42 ORDER BY id LIMIT 10");
+    }
+
+    @DisplayName("Подсчёт подтверждённых заявок для страницы событий")
+    @Test
+    void confirmedRequestsOfEvents() throws SQLException {
+        assertIndexed("SELECT event_id, COUNT(*) FROM requests WHERE status = 'CONFIRMED' "
+                + "AND event_id IN (1, 2, 3, 4, 5, 6, 7, 8, 9, 10) GROUP BY event_id");
+    }
+
+    @DisplayName("Заявки на участие в событии")
+    @Test
+    void requestsOfEvent() throws SQLException {
+        assertIndexed("SELECT * FROM requests WHERE event_id = 42 ORDER BY created, id");
+    }
+
+    @DisplayName("Заявки пользователя")
+    @Test
+    void requestsOfRequester() throws SQLException {
+        assertIndexed("SELECT * FROM requests WHERE requester_id = 42 ORDER BY created, id");
+    }
+
+    @DisplayName("Проверка повторной заявки")
+    @Test
+    void requestOfRequesterForEvent() throws SQLException {
+        assertIndexed("SELECT EXISTS (SELECT 1 FROM requests WHERE requester_id = 42 AND event_id = 4201)");
+    }
+
+    @DisplayName("Подборки, в которые входит событие")
+    @Test
+    void compilationsOfEvent() throws SQLException {
+        assertIndexed("SELECT compilation_id FROM compilations_event WHERE event_id = 4201");
+    }
+
+    private void assertIndexed(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+        }
+        assertFalse(plan.toString().contains("\"Seq Scan\""), () -> "Последовательное сканирование в плане:\n" + plan);
+    }
+}
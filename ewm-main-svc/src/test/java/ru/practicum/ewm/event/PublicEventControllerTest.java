@@ -10,10 +10,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.ewm.event.controller.PublicEventController;
+import ru.practicum.ewm.event.dto.EventCursor;
+import ru.practicum.ewm.event.dto.EventCursorPage;
 import ru.practicum.ewm.event.dto.EventFullDto;
 import ru.practicum.ewm.event.dto.EventSearchDto;
 import ru.practicum.ewm.event.dto.EventShortDto;
 import ru.practicum.ewm.event.service.EventService;
+import ru.practicum.stat.StatisticsClient;
 
 import java.util.Collection;
 import java.util.List;
@@ -22,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +42,9 @@ public class PublicEventControllerTest {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private StatisticsClient statisticsClient;
+
     @DisplayName("Успешное получение событий с фильтром")
     @Test
     void findAllByPublic_correctParams_shouldReturnEvents() throws Exception {
@@ -71,6 +78,26 @@ public class PublicEventControllerTest {
         verify(eventService, times(1)).findAllByPublic(any(EventSearchDto.class), any(HttpServletRequest.class));
     }
 
+    @DisplayName("Получение событий по курсору возвращает курсор следующей страницы в заголовке")
+    @Test
+    void findAllByPublic_withCursor_shouldReturnNextCursorHeader() throws Exception {
+        EventShortDto event = new EventShortDto();
+        event.setId(1L);
+        event.setTitle("Concert 1");
+
+        when(eventService.findAllByPublicWithCursor(any(EventSearchDto.class), any(HttpServletRequest.class)))
+                .thenReturn(new EventCursorPage<>(List.of(event), "next"));
+
+        mockMvc.perform(get("/events")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EventCursor.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        verify(eventService, never()).findAllByPublic(any(EventSearchDto.class), any(HttpServletRequest.class));
+    }
+
     @DisplayName("Успешное получение события по ID")
     @Test
     void findEventById_correctId_shouldReturnEvent() throws Exception {
@@ -0,0 +1,61 @@
+package ru.practicum.ewm.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.request.model.Request;
+import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.request.service.ConfirmedRequestsReconciliationJob;
+import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.user.repository.UserRepository;
+import ru.practicum.ewm.utils.EventState;
+import ru.practicum.ewm.utils.RequestStatus;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = MainApp.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Тестирование ConfirmedRequestsReconciliationJob")
+public class ConfirmedRequestsReconciliationJobTest {
+
+    @Autowired
+    private ConfirmedRequestsReconciliationJob reconciliationJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Test
+    @DisplayName("Расхождение счётчика с заявками исправляется")
+    void reconcile_driftedCounter_repaired() {
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+        Event event = new Event();
+        event.setInitiator(initiator);
+        event.setState(EventState.PUBLISHED);
+        event.setParticipantLimit(10);
+        event.setConfirmedRequests(5);
+        event = eventRepository.save(event);
+        for (int i = 0; i < 2; i++) {
+            User user = userRepository.save(new User(null, "User " + i, "user" + i + "@example.com"));
+            requestRepository.save(new Request(null, event, user, RequestStatus.CONFIRMED, LocalDateTime.now()));
+        }
+
+        reconciliationJob.reconcile();
+
+        assertEquals(2, eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequests());
+        assertTrue(reconciliationJob.isReconciled());
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.ewm.request;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.ewm.request.dto.ParticipationRequestDto;
+import ru.practicum.ewm.request.dto.RequestMapper;
+import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.request.service.RequestService;
+import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.user.repository.UserRepository;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнение загрузки заявок пользователя через сущности Request (с EAGER-связями на Event и User)
+ * и через проекцию в ParticipationRequestDto на 10 000 заявках.
+ */
+@Slf4j
+@SpringBootTest(classes = MainApp.class, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Бенчмарк загрузки заявок на участие")
+public class RequestProjectionBenchmarkTest {
+
+    private static final int REQUESTS = 10_000;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestMapper requestMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DisplayName("Проекция загружает 10 000 заявок за постоянное число запросов и с меньшим расходом памяти")
+    @Test
+    void getParticipationRequests_tenThousandRequests_constantStatementCount() {
+        Long initiatorId = userRepository.save(new User(null, "Initiator", "initiator@example.com")).getId();
+        Long userId = userRepository.save(new User(null, "User", "user@example.com")).getId();
+        List<Object[]> events = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            events.add(new Object[]{initiatorId, "Event " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (initiator_id, title, state, confirmed_requests, views) "
+                + "VALUES (?, ?, 'PUBLISHED', 0, 0)", events);
+        List<Object[]> requests = new ArrayList<>(REQUESTS);
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now());
+        for (Long eventId : jdbcTemplate.queryForList("SELECT id FROM events", Long.class)) {
+            requests.add(new Object[]{eventId, userId, created});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (event_id, requester_id, status, created) "
+                + "VALUES (?, ?, 'PENDING', ?)", requests);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Measurement entities = measure(statistics, () -> transactionTemplate.execute(status ->
+                requestRepository.findByRequesterId(userId).stream()
+                        .map(requestMapper::toRequestDto)
+                        .toList()));
+        Measurement projection = measure(statistics, () -> requestService.getParticipationRequests(userId));
+
+        log.info("Сущности: {} запросов, {} КБ; проекция: {} запросов, {} КБ",
+                entities.statements(), entities.allocatedBytes() / 1024,
+                projection.statements(), projection.allocatedBytes() / 1024);
+        assertEquals(REQUESTS, projection.size());
+        assertEquals(entities.size(), projection.size());
+        // поиск пользователя и один запрос заявок
+        assertTrue(projection.statements() <= 2);
+        assertTrue(entities.statements() > REQUESTS);
+        assertTrue(projection.allocatedBytes() < entities.allocatedBytes());
+    }
+
+    private Measurement measure(Statistics statistics, Supplier<List<ParticipationRequestDto>> loader) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        statistics.clear();
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        List<ParticipationRequestDto> result = loader.get();
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+        return new Measurement(statistics.getPrepareStatementCount(), allocated, result.size());
+    }
+
+    private record Measurement(long statements, long allocatedBytes, int size) {
+    }
+}
@@ -0,0 +1,280 @@
+package ru.practicum.ewm.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.ewm.event.dto.UpdateEventRequest;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.service.EventService;
+import ru.practicum.ewm.exception.ConflictException;
+import ru.practicum.ewm.request.dto.RequestStatusUpdateRequest;
+import ru.practicum.ewm.request.model.Request;
+import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.request.service.RequestService;
+import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.user.repository.UserRepository;
+import ru.practicum.ewm.utils.EventState;
+import ru.practicum.ewm.utils.RequestStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(classes = MainApp.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Тестирование лимита участников при параллельных заявках")
+public class RequestServiceConcurrencyTest {
+
+    private static final int SIGN_UPS = 1000;
+    private static final int PARTICIPANT_LIMIT = 100;
+    private static final int THREADS = 32;
+    /** Нижняя граница пропускной способности: блокировка строки события не должна сериализовать заявки до единиц в секунду. */
+    private static final long MIN_SIGN_UPS_PER_SECOND = 100;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("1000 параллельных заявок не превышают лимит участников")
+    void create_concurrentSignUps_neverExceedLimit() throws Exception {
+        signUpConcurrently();
+    }
+
+    /**
+     * Запуск: mvn test -Dtest=RequestServiceConcurrencyTest -Dbenchmark.load=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.load", matches = "true")
+    @DisplayName("Пропускная способность параллельных заявок не ниже порога")
+    void create_concurrentSignUps_throughput() throws Exception {
+        long signUpsPerSecond = signUpConcurrently();
+
+        assertTrue(signUpsPerSecond >= MIN_SIGN_UPS_PER_SECOND,
+                "пропускная способность " + signUpsPerSecond + " заявок/с ниже " + MIN_SIGN_UPS_PER_SECOND);
+    }
+
+    /**
+     * Подаёт {@link #SIGN_UPS} заявок из {@link #THREADS} потоков, проверяет соблюдение лимита
+     * и возвращает число обработанных заявок в секунду.
+     */
+    private long signUpConcurrently() throws Exception {
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+        Event event = new Event();
+        event.setInitiator(initiator);
+        event.setState(EventState.PUBLISHED);
+        event.setRequestModeration(false);
+        event.setParticipantLimit(PARTICIPANT_LIMIT);
+        Long eventId = eventRepository.save(event).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < SIGN_UPS; i++) {
+            users.add(new User(null, "User " + i, "user" + i + "@example.com"));
+        }
+        List<Long> userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long userId : userIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    requestService.create(userId, eventId);
+                    confirmed.incrementAndGet();
+                } catch (ConflictException e) {
+                    rejected.incrementAndGet();
+                } catch (Exception e) {
+                    log.error("Ошибка при подаче заявки пользователем {}", userId, e);
+                    failed.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        executor.shutdown();
+        long signUpsPerSecond = SIGN_UPS * 1000L / Math.max(elapsedMs, 1);
+        log.info("Обработано {} заявок за {} мс ({} заявок/с)", SIGN_UPS, elapsedMs, signUpsPerSecond);
+
+        assertEquals(0, failed.get());
+        assertEquals(PARTICIPANT_LIMIT, confirmed.get());
+        assertEquals(SIGN_UPS - PARTICIPANT_LIMIT, rejected.get());
+        assertEquals(PARTICIPANT_LIMIT, eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+        assertEquals(PARTICIPANT_LIMIT, requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED));
+        return signUpsPerSecond;
+    }
+
+    @Test
+    @DisplayName("Параллельная отмена одной подтверждённой заявки освобождает ровно одно место")
+    void cancelRequest_concurrentCancels_decrementCounterOnce() throws Exception {
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+        User participant = userRepository.save(new User(null, "Participant", "participant@example.com"));
+        User latecomer = userRepository.save(new User(null, "Latecomer", "latecomer@example.com"));
+        User extra = userRepository.save(new User(null, "Extra", "extra@example.com"));
+        Event event = new Event();
+        event.setInitiator(initiator);
+        event.setState(EventState.PUBLISHED);
+        event.setRequestModeration(false);
+        event.setParticipantLimit(1);
+        Long eventId = eventRepository.save(event).getId();
+        Long requestId = requestService.create(participant.getId(), eventId).getId();
+
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    requestService.cancelRequest(participant.getId(), requestId);
+                } catch (Exception e) {
+                    log.error("Ошибка при отмене заявки {}", requestId, e);
+                    failed.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(0, failed.get());
+        assertEquals(RequestStatus.CANCELED, requestRepository.findById(requestId).orElseThrow().getStatus());
+        assertEquals(0, eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+        assertEquals(0, requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED));
+
+        requestService.create(latecomer.getId(), eventId);
+        assertThrows(ConflictException.class, () -> requestService.create(extra.getId(), eventId));
+        assertEquals(1, eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+    }
+
+    @Test
+    @DisplayName("Отмена заявки параллельно с её подтверждением: ответ, статус и счётчик согласованы")
+    void cancelRequest_concurrentConfirmation_keepsStatusAndCounterConsistent() throws Exception {
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+        Event event = new Event();
+        event.setInitiator(initiator);
+        event.setState(EventState.PUBLISHED);
+        event.setRequestModeration(true);
+        event.setParticipantLimit(100);
+        Long eventId = eventRepository.save(event).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 20; i++) {
+            User participant = userRepository.save(
+                    new User(null, "Participant " + i, "participant" + i + "@example.com"));
+            Long requestId = requestService.create(participant.getId(), eventId).getId();
+            RequestStatusUpdateRequest confirm =
+                    new RequestStatusUpdateRequest(List.of(requestId), RequestStatus.CONFIRMED);
+
+            CountDownLatch start = new CountDownLatch(1);
+            Future<RequestStatus> canceled = executor.submit(() -> {
+                start.await();
+                try {
+                    return requestService.cancelRequest(participant.getId(), requestId).getStatus();
+                } catch (ConflictException e) {
+                    return null;
+                }
+            });
+            Future<?> confirmed = executor.submit(() -> {
+                start.await();
+                try {
+                    requestService.updateStatus(initiator.getId(), eventId, confirm);
+                } catch (ConflictException e) {
+                    // заявка уже отменена
+                }
+                return null;
+            });
+            start.countDown();
+            RequestStatus returned = canceled.get(60, TimeUnit.SECONDS);
+            confirmed.get(60, TimeUnit.SECONDS);
+
+            RequestStatus stored = requestRepository.findById(requestId).orElseThrow().getStatus();
+            if (returned != null) {
+                assertEquals(stored, returned);
+            }
+            assertEquals(requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED),
+                    eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Редактирование события не затирает параллельно подтверждённую заявку")
+    void updateEvent_concurrentConfirmation_keepsConfirmedCounter() throws Exception {
+        User initiator = userRepository.save(new User(null, "Initiator", "initiator@example.com"));
+        User participant = userRepository.save(new User(null, "Participant", "participant@example.com"));
+        Event event = new Event();
+        event.setTitle("Before edit");
+        event.setInitiator(initiator);
+        event.setState(EventState.PENDING);
+        event.setRequestModeration(true);
+        event.setParticipantLimit(10);
+        event = eventRepository.save(event);
+        Long eventId = event.getId();
+        Long requestId = requestRepository.save(
+                new Request(null, event, participant, RequestStatus.PENDING, LocalDateTime.now())).getId();
+        RequestStatusUpdateRequest confirm = new RequestStatusUpdateRequest(List.of(requestId), RequestStatus.CONFIRMED);
+        UpdateEventRequest edit = new UpdateEventRequest();
+        edit.setTitle("After edit");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        transactionTemplate.executeWithoutResult(status -> {
+            // событие загружается в контекст редактирования до подтверждения заявки и дальше считается устаревшим
+            eventRepository.findById(eventId).orElseThrow();
+            try {
+                executor.submit(() -> requestService.updateStatus(initiator.getId(), eventId, confirm))
+                        .get(60, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            eventService.updateEventByPrivate(initiator.getId(), eventId, edit);
+        });
+        executor.shutdown();
+
+        Event saved = eventRepository.findById(eventId).orElseThrow();
+        assertEquals("After edit", saved.getTitle());
+        assertEquals(1, saved.getConfirmedRequests());
+        assertEquals(1, requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED));
+    }
+}
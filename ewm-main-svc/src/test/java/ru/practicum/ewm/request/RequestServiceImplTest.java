@@ -6,6 +6,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.ewm.MainApp;
 import ru.practicum.ewm.event.model.Event;
@@ -18,6 +21,7 @@ import ru.practicum.ewm.request.dto.RequestStatusUpdateRequest;
 import ru.practicum.ewm.request.dto.RequestStatusUpdateResult;
 import ru.practicum.ewm.request.model.Request;
 import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.request.service.ConfirmedRequestsReconciliationJob;
 import ru.practicum.ewm.request.service.RequestService;
 import ru.practicum.ewm.user.model.User;
 import ru.practicum.ewm.user.repository.UserRepository;
@@ -25,9 +29,11 @@ import ru.practicum.ewm.utils.EventState;
 import ru.practicum.ewm.utils.RequestStatus;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
 
 @SpringBootTest(classes = MainApp.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -46,6 +52,12 @@ public class RequestServiceImplTest {
     @Autowired
     private RequestRepository requestRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ConfirmedRequestsReconciliationJob reconciliationJob;
+
     private Long userId;
     private Long eventId;
 
@@ -71,6 +83,17 @@ public class RequestServiceImplTest {
         userRepository.deleteAll();
     }
 
+    @Test
+    @DisplayName("Повторная заявка на событие отклоняется базой")
+    void saveRequest_Duplicate_throwsDataIntegrityViolationException() {
+        User user2 = userRepository.save(new User(null, "Test User 2", "user2@example.com"));
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        requestRepository.save(new Request(null, event, user2, RequestStatus.PENDING, LocalDateTime.now()));
+
+        assertThrows(DataIntegrityViolationException.class, () -> requestRepository.save(
+                new Request(null, event, user2, RequestStatus.PENDING, LocalDateTime.now())));
+    }
+
     @Test
     @DisplayName("Создание запроса: пользователь не найден")
     void create_UserNotFound_throwsNotFoundException() {
@@ -128,9 +151,9 @@ public class RequestServiceImplTest {
         Long thirdUserId = user3.getId();
 
         Event event = eventRepository.findById(eventId).orElseThrow();
-        event.setConfirmedRequests(1);
         event.setParticipantLimit(1);
         eventRepository.save(event);
+        jdbcTemplate.update("UPDATE events SET confirmed_requests = 1 WHERE id = ?", eventId);
 
         Request request1 = new Request(1L, event, user2, RequestStatus.CONFIRMED, LocalDateTime.now());
         requestRepository.save(request1);
@@ -285,9 +308,9 @@ public class RequestServiceImplTest {
         user3 = userRepository.save(user3);
 
         Event event = eventRepository.findById(eventId).orElseThrow();
-        event.setConfirmedRequests(1);
         event.setParticipantLimit(1);
         eventRepository.save(event);
+        jdbcTemplate.update("UPDATE events SET confirmed_requests = 1 WHERE id = ?", eventId);
 
         Request request1 = new Request(null, event, user2, RequestStatus.CONFIRMED, LocalDateTime.now());
         requestRepository.save(request1);
@@ -371,4 +394,85 @@ public class RequestServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getConfirmedRequests().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Подтверждение и отмена заявки изменяют счётчик подтверждённых заявок события")
+    void updateStatusAndCancel_changeConfirmedRequestsCounter() {
+        User user2 = userRepository.save(new User(null, "Test User 2", "user2@example.com"));
+
+        ParticipationRequestDto created = requestService.create(user2.getId(), eventId);
+        RequestStatusUpdateRequest dto = new RequestStatusUpdateRequest();
+        dto.setRequestIds(List.of(created.getId()));
+        dto.setStatus(RequestStatus.CONFIRMED);
+
+        requestService.updateStatus(userId, eventId, dto);
+        assertEquals(1, eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+
+        requestService.cancelRequest(user2.getId(), created.getId());
+        assertEquals(0, eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+    }
+
+    @Test
+    @DisplayName("Обновление статуса заявок: заявки сверх лимита отклоняются")
+    void updateStatus_OverLimit_rejectsOverflow() {
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = userRepository.save(new User(null, "Participant " + i, "participant" + i + "@example.com"));
+            Request request = new Request(null, event, user, RequestStatus.PENDING, LocalDateTime.now().plusSeconds(i));
+            requestIds.add(requestRepository.save(request).getId());
+        }
+
+        RequestStatusUpdateRequest dto = new RequestStatusUpdateRequest();
+        dto.setRequestIds(requestIds);
+        dto.setStatus(RequestStatus.CONFIRMED);
+
+        RequestStatusUpdateResult result = requestService.updateStatus(userId, eventId, dto);
+
+        assertEquals(requestIds.subList(0, 2), result.getConfirmedRequests().stream().map(ParticipationRequestDto::getId).toList());
+        assertEquals(List.of(requestIds.get(2)), result.getRejectedRequests().stream().map(ParticipationRequestDto::getId).toList());
+        assertEquals(RequestStatus.REJECTED, requestRepository.findById(requestIds.get(2)).orElseThrow().getStatus());
+        assertEquals(2, eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+    }
+
+    @Test
+    @DisplayName("До сверки лимит проверяется по заявкам, а не по заниженному счётчику")
+    void create_BeforeReconciliation_countsConfirmedRequests() {
+        doReturn(false).when(reconciliationJob).isReconciled();
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        event.setRequestModeration(false);
+        event = eventRepository.save(event);
+        for (int i = 0; i < 2; i++) {
+            User user = userRepository.save(new User(null, "Participant " + i, "participant" + i + "@example.com"));
+            requestRepository.save(new Request(null, event, user, RequestStatus.CONFIRMED, LocalDateTime.now()));
+        }
+        User late = userRepository.save(new User(null, "Late Participant", "late-participant@example.com"));
+
+        assertThrows(ConflictException.class, () -> requestService.create(late.getId(), eventId));
+        assertEquals(0, eventRepository.findById(eventId).orElseThrow().getConfirmedRequests());
+    }
+
+    @Test
+    @DisplayName("До сверки подтверждение заявок учитывает уже подтверждённые заявки")
+    void updateStatus_BeforeReconciliation_countsConfirmedRequests() {
+        doReturn(false).when(reconciliationJob).isReconciled();
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        User confirmed = userRepository.save(new User(null, "Participant 0", "participant0@example.com"));
+        requestRepository.save(new Request(null, event, confirmed, RequestStatus.CONFIRMED, LocalDateTime.now()));
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 1; i < 3; i++) {
+            User user = userRepository.save(new User(null, "Participant " + i, "participant" + i + "@example.com"));
+            Request request = new Request(null, event, user, RequestStatus.PENDING, LocalDateTime.now().plusSeconds(i));
+            requestIds.add(requestRepository.save(request).getId());
+        }
+
+        RequestStatusUpdateRequest dto = new RequestStatusUpdateRequest();
+        dto.setRequestIds(requestIds);
+        dto.setStatus(RequestStatus.CONFIRMED);
+
+        RequestStatusUpdateResult result = requestService.updateStatus(userId, eventId, dto);
+
+        assertEquals(1, result.getConfirmedRequests().size());
+        assertEquals(1, result.getRejectedRequests().size());
+    }
+}
@@ -1,60 +1,208 @@
 package ru.practicum.stat;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.DefaultUriBuilderFactory;
-import org.springframework.web.util.UriComponentsBuilder;
 import ru.practicum.stat.base.BaseClient;
+import ru.practicum.stat.sender.HitBatchSender;
+import ru.practicum.stat.sender.OverflowPolicy;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
-public class StatisticsClient extends BaseClient {
+public class StatisticsClient extends BaseClient implements DisposableBean {
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final String appName;
 
+    private final ViewStatsReader viewStatsReader;
+
+    private HitBatchSender hitSender;
+
     @Autowired
     public StatisticsClient(@Value("${stats-server.url}") String serverUrl,
                             @Value("${app.name}") String appName,
-                            RestTemplateBuilder builder) {
+                            @Value("${stats-client.async.enabled:true}") boolean asyncEnabled,
+                            @Value("${stats-client.queue.capacity:10000}") int queueCapacity,
+                            @Value("${stats-client.queue.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                            @Value("${stats-client.batch.size:100}") int batchSize,
+                            @Value("${stats-client.batch.flush-interval-ms:1000}") long flushIntervalMs,
+                            @Value("${stats-client.shutdown-timeout-ms:5000}") long shutdownTimeoutMs,
+                            @Value("${stats-client.http.pool-size:8}") int httpPoolSize,
+                            @Value("${stats-client.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                            @Value("${stats-client.http.read-timeout-ms:5000}") long readTimeoutMs,
+                            @Value("${stats-client.http.http2:true}") boolean http2,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                            RestTemplateBuilder builder,
+                            ObjectMapper objectMapper,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(serverUrl, appName, builder, objectMapper, httpClient(httpPoolSize, connectTimeoutMs, http2, virtualThreads),
+                Duration.ofMillis(readTimeoutMs));
+        this.hitSender = asyncEnabled
+                ? new HitBatchSender(queueCapacity, overflowPolicy, batchSize, flushIntervalMs, shutdownTimeoutMs,
+                this::sendHits, meterRegistry.getIfAvailable(SimpleMeterRegistry::new))
+                : null;
+    }
+
+    private StatisticsClient(String serverUrl,
+                             String appName,
+                             RestTemplateBuilder builder,
+                             ObjectMapper objectMapper,
+                             HttpClient http,
+                             Duration readTimeout) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory(http, readTimeout))
                         .build(),
+                http,
+                objectMapper,
+                readTimeout,
                 serverUrl
         );
         this.appName = appName;
+        this.viewStatsReader = new ViewStatsReader(objectMapper);
     }
 
     public ResponseEntity<Object> create(HttpServletRequest request) {
+        return post(toHitDto(request));
+    }
+
+    /**
+     * Отправляет хит асинхронно, не используя очередь пакетной отправки.
+     */
+    public CompletableFuture<ResponseEntity<Object>> hitAsync(HttpServletRequest request) {
+        return postAsync("/hit", toHitDto(request));
+    }
+
+    /**
+     * Регистрирует хит без ожидания ответа сервиса статистики.
+     * Если асинхронная отправка выключена, хит отправляется синхронно.
+     *
+     * @return {@code false}, если хит был отброшен
+     */
+    public boolean registerHit(HttpServletRequest request) {
+        HitDto hit = toHitDto(request);
+        if (hitSender == null) {
+            post(hit);
+            return true;
+        }
+        return hitSender.offer(hit);
+    }
+
+    @Override
+    public void destroy() {
+        if (hitSender != null) {
+            hitSender.shutdown();
+        }
+        if (http.executor().orElse(null) instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    private HitDto toHitDto(HttpServletRequest request) {
+        return new HitDto(null, appName, request.getRequestURI(), request.getRemoteAddr(), LocalDateTime.now());
+    }
 
-        HitDto endpointHitCreateDto = new HitDto(null, appName,request.getRequestURI(),request.getRemoteAddr(),LocalDateTime.now());
-        return post(endpointHitCreateDto);
+    private void sendHits(List<HitDto> hits) {
+        ResponseEntity<Object> response = post("/hits", hits);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Сервис статистики вернул статус " + response.getStatusCode());
+        }
     }
 
     public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return get(statsUri(start, end, uris, unique));
+    }
+
+    /**
+     * То же, что {@link #getStats}, но без блокировки вызывающего потока:
+     * запрос выполняется на пуле {@code stats-client.http.pool-size}.
+     */
+    public CompletableFuture<ResponseEntity<Object>> getStatsAsync(LocalDateTime start, LocalDateTime end,
+                                                                   List<String> uris, Boolean unique) {
+        return getAsync(statsUri(start, end, uris, unique));
+    }
+
+    public ViewStatsDto[] getViewStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return get(statsUri(start, end, uris, unique), viewStatsReader::readViewStats);
+    }
 
-        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/stats")
-                .queryParam("start", start.format(formatter))
-                .queryParam("end", end.format(formatter))
-                .queryParam("unique", unique);
+    /**
+     * Количество просмотров по uri. Ответ разбирается потоково, без промежуточных DTO.
+     */
+    public Map<String, Long> getHitsByUri(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return get(statsUri(start, end, uris, unique), viewStatsReader::readHitsByUri);
+    }
+
+    public CompletableFuture<Map<String, Long>> getHitsByUriAsync(LocalDateTime start, LocalDateTime end,
+                                                                 List<String> uris, Boolean unique) {
+        return getAsync(statsUri(start, end, uris, unique), viewStatsReader::readHitsByUri);
+    }
+
+    private URI statsUri(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("start", start.format(formatter));
+        params.add("end", end.format(formatter));
+        if (unique != null) {
+            params.add("unique", unique.toString());
+        }
 
         if (uris != null && !uris.isEmpty()) {
-            builder.queryParam("uris", uris);
+            params.addAll("uris", uris);
         }
+        return buildUri("/stats", params);
+    }
 
-        String url = builder.build().toUriString();
+    /**
+     * В режиме виртуальных потоков каждая задача HTTP-клиента получает свой виртуальный поток
+     * и размер пула не ограничивает число одновременных запросов к сервису статистики.
+     */
+    private static HttpClient httpClient(int poolSize, long connectTimeoutMs, boolean http2, boolean virtualThreads) {
+        ExecutorService executor;
+        if (virtualThreads) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stats-http-", 1).factory());
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+                Thread thread = new Thread(runnable, "stats-http-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+    }
 
-        return get(url);
+    private static JdkClientHttpRequestFactory requestFactory(HttpClient http, Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(http);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package ru.practicum.stat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Читает ответ /stats напрямую из потока, без промежуточного дерева {@code List<LinkedHashMap>}.
+ */
+public class ViewStatsReader {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader viewStatsArrayReader;
+
+    public ViewStatsReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // новые поля в ответе сервера статистики не должны ломать клиент
+        this.viewStatsArrayReader = objectMapper.readerFor(ViewStatsDto[].class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public ViewStatsDto[] readViewStats(InputStream body) throws IOException {
+        ViewStatsDto[] stats = viewStatsArrayReader.readValue(body);
+        return stats != null ? stats : new ViewStatsDto[0];
+    }
+
+    /**
+     * Потоково разбирает массив статистики в карту uri -> hits, не создавая {@link ViewStatsDto}.
+     * Сервер группирует статистику по app и uri, поэтому хиты одного uri из разных приложений суммируются.
+     */
+    public Map<String, Long> readHitsByUri(InputStream body) throws IOException {
+        Map<String, Long> hitsByUri = new HashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return hitsByUri;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Ожидался массив статистики, получено: " + token);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String uri = null;
+                long hits = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "uri" -> uri = parser.getValueAsString();
+                        case "hits" -> hits = parser.getValueAsLong();
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (uri != null) {
+                    hitsByUri.merge(uri, hits, Long::sum);
+                }
+            }
+        }
+        return hitsByUri;
+    }
+}
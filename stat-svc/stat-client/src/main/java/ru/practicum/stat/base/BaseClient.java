@@ -1,32 +1,78 @@
 package ru.practicum.stat.base;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public class BaseClient {
 
     protected final RestTemplate rest;
+    protected final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
     private final String statsUri;
 
-    public BaseClient(RestTemplate rest,@Value("${stats-server.url}") String statsUri) {
+    public BaseClient(RestTemplate rest,
+                      HttpClient http,
+                      ObjectMapper objectMapper,
+                      Duration readTimeout,
+                      @Value("${stats-server.url}") String statsUri) {
         this.rest = rest;
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.readTimeout = readTimeout;
         this.statsUri = statsUri;
     }
 
-    protected ResponseEntity<Object> get(String path) {
-        return makeAndSendRequest(statsUri + path);
+    protected ResponseEntity<Object> get(URI uri) {
+        return makeAndSendRequest(uri);
+    }
+
+    /**
+     * Полностью закодированный URI запроса к сервису статистики. Синхронные и асинхронные GET получают
+     * один и тот же URI. Значения параметров кодируются строго, поэтому символы {@code & + = ? # { }}
+     * в значении не меняют структуру запроса.
+     */
+    protected URI buildUri(String path, MultiValueMap<String, String> queryParams) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(statsUri).path(path);
+        Map<String, String> values = new HashMap<>();
+        queryParams.forEach((name, paramValues) -> paramValues.forEach(value -> {
+            String variable = "p" + values.size();
+            builder.queryParam(name, "{" + variable + "}");
+            values.put(variable, value);
+        }));
+        return builder.encode().buildAndExpand(values).toUri();
     }
 
     protected ResponseEntity<Object> post(Object body) {
+        return post("/hit", body);
+    }
+
+    protected ResponseEntity<Object> post(String path, Object body) {
         HttpEntity<Object> requestEntity = new HttpEntity<>(body);
         try {
-            log.info("Отправка POST запроса на URL: {}, тело: {}", statsUri + "/hit", body);
-            ResponseEntity<Object> response = rest.postForEntity(statsUri + "/hit", requestEntity, Object.class);
+            log.info("Отправка POST запроса на URL: {}, тело: {}", statsUri + path, body);
+            ResponseEntity<Object> response = rest.postForEntity(statsUri + path, requestEntity, Object.class);
             log.info("Получен ответ от сервиса статистики, статус: {}", response.getStatusCode());
             return response;
         } catch (HttpStatusCodeException e) {
@@ -35,12 +81,92 @@ public class BaseClient {
         }
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(String path) {
+    /**
+     * GET с разбором тела ответа прямо из потока.
+     * Ответ с кодом 4xx/5xx приводит к {@link HttpStatusCodeException}.
+     */
+    protected <T> T get(URI uri, BodyReader<T> reader) {
+        log.info("Отправка GET запроса на URL: {}", uri);
+        return rest.execute(uri, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> reader.read(response.getBody()));
+    }
+
+    /**
+     * Асинхронный GET с разбором тела ответа прямо из потока.
+     * Ответ не с кодом 2xx завершает результат {@link IllegalStateException}.
+     */
+    protected <T> CompletableFuture<T> getAsync(URI uri, BodyReader<T> reader) {
+        log.info("Отправка асинхронного GET запроса на URL: {}", uri);
+        return http.sendAsync(requestBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    try (InputStream body = response.body()) {
+                        if (!HttpStatusCode.valueOf(response.statusCode()).is2xxSuccessful()) {
+                            throw new IllegalStateException("Сервис статистики вернул статус " + response.statusCode());
+                        }
+                        return reader.read(body);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Асинхронный GET без блокировки вызывающего потока.
+     */
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(URI uri) {
+        log.info("Отправка асинхронного GET запроса на URL: {}", uri);
+        return sendAsync(requestBuilder(uri).GET().build());
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> postAsync(String path, Object body) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        log.info("Отправка асинхронного POST запроса на URL: {}, тело: {}", statsUri + path, json);
+        return sendAsync(requestBuilder(URI.create(statsUri + path)).POST(HttpRequest.BodyPublishers.ofString(json)).build());
+    }
+
+    private HttpRequest.Builder requestBuilder(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> sendAsync(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::toResponseEntity);
+    }
+
+    private ResponseEntity<Object> toResponseEntity(HttpResponse<String> response) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        log.info("Получен ответ от сервиса статистики, статус: {}, протокол: {}", status, response.version());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        String body = response.body();
+        if (body == null || body.isEmpty()) {
+            return responseBuilder.build();
+        }
+        if (!status.is2xxSuccessful()) {
+            log.error("Ошибка при выполнении запроса: {}, тело ответа: {}", status, body);
+            return responseBuilder.body(body);
+        }
+        try {
+            return responseBuilder.body(objectMapper.readValue(body, Object.class));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(URI uri) {
         HttpEntity<T> requestEntity = new HttpEntity<>(null, defaultHeaders());
         ResponseEntity<Object> responseEntity;
         try {
-            log.info("Отправка GET запроса на URL: {}", path);
-            responseEntity = rest.exchange(path, HttpMethod.GET, requestEntity, Object.class);
+            log.info("Отправка GET запроса на URL: {}", uri);
+            responseEntity = rest.exchange(uri, HttpMethod.GET, requestEntity, Object.class);
             log.info("Получен ответ от сервиса статистики, статус: {}", responseEntity.getStatusCode());
         } catch (HttpStatusCodeException e) {
             log.error("Ошибка при отправке GET запроса: {}, тело ответа: {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -66,4 +192,9 @@ public class BaseClient {
         }
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+}
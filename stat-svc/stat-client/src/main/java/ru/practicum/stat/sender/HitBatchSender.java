@@ -0,0 +1,155 @@
+package ru.practicum.stat.sender;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.stat.HitDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Фоновая отправка хитов в сервис статистики.
+ * Хиты складываются в ограниченную очередь без блокировки вызывающего потока
+ * и отправляются пачками по таймеру или при накоплении {@code batchSize} элементов.
+ */
+@Slf4j
+public class HitBatchSender {
+
+    private final BlockingQueue<HitDto> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
+    private final Consumer<List<HitDto>> sink;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
+
+    private final Counter droppedOnOverflow;
+    private final Counter droppedOnFailure;
+    private final Counter droppedOnShutdown;
+    private final Counter sent;
+    private final Timer batchLatency;
+
+    public HitBatchSender(int capacity,
+                          OverflowPolicy overflowPolicy,
+                          int batchSize,
+                          long flushIntervalMs,
+                          long shutdownTimeoutMs,
+                          Consumer<List<HitDto>> sink,
+                          MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.sink = sink;
+
+        Gauge.builder("stats.client.queue.size", queue, BlockingQueue::size)
+                .description("Количество хитов, ожидающих отправки")
+                .register(meterRegistry);
+        this.droppedOnOverflow = droppedCounter(meterRegistry, "overflow");
+        this.droppedOnFailure = droppedCounter(meterRegistry, "send_failure");
+        this.droppedOnShutdown = droppedCounter(meterRegistry, "shutdown");
+        this.sent = Counter.builder("stats.client.hits.sent")
+                .description("Количество хитов, успешно отправленных в сервис статистики")
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("stats.client.batch.latency")
+                .description("Время отправки одной пачки хитов")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-hit-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean offer(HitDto hit) {
+        if (stopped.get()) {
+            droppedOnShutdown.increment();
+            return false;
+        }
+
+        boolean accepted = queue.offer(hit);
+        if (!accepted && overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            if (queue.poll() != null) {
+                droppedOnOverflow.increment();
+            }
+            accepted = queue.offer(hit);
+        }
+        if (!accepted) {
+            droppedOnOverflow.increment();
+            log.warn("Очередь хитов переполнена, хит отброшен: {}", hit);
+            return false;
+        }
+
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RuntimeException e) {
+                flushRequested.set(false);
+            }
+        }
+        return true;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public void shutdown() {
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Отправка хитов остановлена, в очереди осталось: {}", queue.size());
+    }
+
+    void flush() {
+        flushRequested.set(false);
+        List<HitDto> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            sendBatch(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void sendBatch(List<HitDto> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.accept(batch);
+            sent.increment(batch.size());
+        } catch (Exception e) {
+            droppedOnFailure.increment(batch.size());
+            log.error("Ошибка при отправке пачки из {} хитов: {}", batch.size(), e.getMessage());
+        } finally {
+            batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("stats.client.hits.dropped")
+                .description("Количество хитов, не доставленных в сервис статистики")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
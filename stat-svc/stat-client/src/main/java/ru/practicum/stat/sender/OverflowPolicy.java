@@ -0,0 +1,8 @@
+package ru.practicum.stat.sender;
+
+public enum OverflowPolicy {
+    // отбросить новый хит, если очередь заполнена
+    DROP_NEWEST,
+    // вытеснить самый старый хит из очереди
+    DROP_OLDEST
+}
@@ -0,0 +1,96 @@
+package ru.practicum.stat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.stat.sender.HitBatchSender;
+import ru.practicum.stat.sender.OverflowPolicy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование HitBatchSender")
+public class HitBatchSenderTest {
+
+    private static final long NO_TIMER_FLUSH = 60_000;
+
+    @DisplayName("При переполнении DROP_NEWEST отбрасывает новый хит")
+    @Test
+    void offer_queueFullDropNewest_rejectsIncomingHit() {
+        List<List<HitDto>> batches = new CopyOnWriteArrayList<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HitBatchSender sender = new HitBatchSender(2, OverflowPolicy.DROP_NEWEST, 10, NO_TIMER_FLUSH, 1000,
+                batches::add, registry);
+
+        assertTrue(sender.offer(hit("/events/1")));
+        assertTrue(sender.offer(hit("/events/2")));
+        assertFalse(sender.offer(hit("/events/3")));
+        sender.shutdown();
+
+        List<String> uris = batches.stream().flatMap(List::stream).map(HitDto::getUri).toList();
+        assertEquals(List.of("/events/1", "/events/2"), uris);
+        assertEquals(1.0, registry.get("stats.client.hits.dropped").tag("reason", "overflow").counter().count());
+    }
+
+    @DisplayName("При переполнении DROP_OLDEST вытесняет самый старый хит")
+    @Test
+    void offer_queueFullDropOldest_evictsOldestHit() {
+        List<List<HitDto>> batches = new CopyOnWriteArrayList<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HitBatchSender sender = new HitBatchSender(2, OverflowPolicy.DROP_OLDEST, 10, NO_TIMER_FLUSH, 1000,
+                batches::add, registry);
+
+        sender.offer(hit("/events/1"));
+        sender.offer(hit("/events/2"));
+        assertTrue(sender.offer(hit("/events/3")));
+        sender.shutdown();
+
+        List<String> uris = batches.stream().flatMap(List::stream).map(HitDto::getUri).toList();
+        assertEquals(List.of("/events/2", "/events/3"), uris);
+        assertEquals(1.0, registry.get("stats.client.hits.dropped").tag("reason", "overflow").counter().count());
+    }
+
+    @DisplayName("Хиты отправляются пачками не больше batchSize")
+    @Test
+    void shutdown_withQueuedHits_flushesInBatches() {
+        List<List<HitDto>> batches = new CopyOnWriteArrayList<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HitBatchSender sender = new HitBatchSender(100, OverflowPolicy.DROP_NEWEST, 10, NO_TIMER_FLUSH, 1000,
+                batches::add, registry);
+
+        for (int i = 0; i < 25; i++) {
+            sender.offer(hit("/events/" + i));
+        }
+        sender.shutdown();
+
+        assertEquals(25, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertEquals(0, sender.getQueueSize());
+        assertEquals(25.0, registry.get("stats.client.hits.sent").counter().count());
+        assertFalse(sender.offer(hit("/events/late")));
+    }
+
+    @DisplayName("Ошибка отправки учитывается в метрике отброшенных хитов")
+    @Test
+    void shutdown_sinkFails_countsDroppedHits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HitBatchSender sender = new HitBatchSender(10, OverflowPolicy.DROP_NEWEST, 10, NO_TIMER_FLUSH, 1000,
+                batch -> {
+                    throw new IllegalStateException("stats-server недоступен");
+                }, registry);
+
+        sender.offer(hit("/events/1"));
+        sender.offer(hit("/events/2"));
+        sender.shutdown();
+
+        assertEquals(2.0, registry.get("stats.client.hits.dropped").tag("reason", "send_failure").counter().count());
+        assertEquals(1, registry.get("stats.client.batch.latency").timer().count());
+    }
+
+    private static HitDto hit(String uri) {
+        return new HitDto(null, "ewm-main-service", uri, "127.0.0.1", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.stat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.stat.sender.OverflowPolicy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Тестирование StatisticsClient")
+public class StatisticsClientTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 3, 2, 12, 0);
+
+    private final List<String> rawQueries = new CopyOnWriteArrayList<>();
+
+    private volatile int status = 200;
+    private volatile String body = "[]";
+
+    private HttpServer server;
+    private StatisticsClient client;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/stats", exchange -> {
+            rawQueries.add(exchange.getRequestURI().getRawQuery());
+            byte[] response = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        client = new StatisticsClient("http://localhost:" + server.getAddress().getPort(), "ewm-main-service",
+                false, 10, OverflowPolicy.DROP_NEWEST, 10, 1000, 1000, 2, 1000, 5000, false, false,
+                new RestTemplateBuilder(), new ObjectMapper(), mock(ObjectProvider.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+        server.stop(0);
+    }
+
+    @DisplayName("Асинхронный запрос возвращает просмотры по uri")
+    @Test
+    void getHitsByUriAsync_success_returnHitsByUri() throws Exception {
+        body = "[{\"app\":\"ewm-main-service\",\"uri\":\"/events/1\",\"hits\":5},"
+                + "{\"app\":\"ewm-main-service\",\"uri\":\"/events/2\",\"hits\":3}]";
+
+        Map<String, Long> hitsByUri = client.getHitsByUriAsync(START, END, List.of("/events/1", "/events/2"), true)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(Map.of("/events/1", 5L, "/events/2", 3L), hitsByUri);
+    }
+
+    @DisplayName("Ответ с ошибкой завершает асинхронный запрос исключением")
+    @Test
+    void getHitsByUriAsync_errorStatus_completeExceptionally() throws Exception {
+        status = 500;
+        body = "{\"error\":\"stats-server недоступен\"}";
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.getHitsByUriAsync(START, END, List.of("/events/1"), true).get(5, TimeUnit.SECONDS));
+        ResponseEntity<Object> response = client.getStatsAsync(START, END, List.of("/events/1"), true)
+                .get(5, TimeUnit.SECONDS);
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @DisplayName("Синхронный и асинхронный запросы одинаково кодируют uris со спецсимволами")
+    @Test
+    void getHitsByUri_urisWithSpecialCharacters_encodedSameInBothPaths() throws Exception {
+        List<String> uris = List.of("/events/1", "/search?text=a&b=c", "/поиск 1+2", "/events/{id}#top");
+
+        client.getHitsByUri(START, END, uris, false);
+        client.getHitsByUriAsync(START, END, uris, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, rawQueries.size());
+        assertEquals(rawQueries.get(0), rawQueries.get(1));
+        List<String> sentUris = new ArrayList<>();
+        String start = null;
+        for (String param : rawQueries.get(0).split("&")) {
+            String[] nameAndValue = param.split("=", 2);
+            String value = URLDecoder.decode(nameAndValue[1], StandardCharsets.UTF_8);
+            if (nameAndValue[0].equals("uris")) {
+                sentUris.add(value);
+            } else if (nameAndValue[0].equals("start")) {
+                start = value;
+            }
+        }
+        assertEquals(uris, sentUris);
+        assertEquals("2024-03-01 12:00:00", start);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.stat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DisplayName("Тестирование ViewStatsReader")
+public class ViewStatsReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ViewStatsReader reader = new ViewStatsReader(objectMapper);
+
+    @DisplayName("Ответ /stats разбирается в карту uri -> hits")
+    @Test
+    void readHitsByUri_statsResponse_returnHitsByUri() throws IOException {
+        String json = "[{\"app\":\"ewm-main-service\",\"uri\":\"/events/1\",\"hits\":5},"
+                + "{\"hits\":3,\"extra\":{\"nested\":[1,2]},\"uri\":\"/events/2\",\"app\":\"ewm-main-service\"}]";
+
+        Map<String, Long> hitsByUri = reader.readHitsByUri(stream(json));
+
+        assertEquals(Map.of("/events/1", 5L, "/events/2", 3L), hitsByUri);
+        assertTrue(reader.readHitsByUri(stream("")).isEmpty());
+        assertEquals(2, reader.readViewStats(stream(json)).length);
+    }
+
+    @DisplayName("Хиты одного uri из разных приложений суммируются")
+    @Test
+    void readHitsByUri_duplicateUri_sumHits() throws IOException {
+        String json = "[{\"app\":\"ewm-main-service\",\"uri\":\"/events/1\",\"hits\":5},"
+                + "{\"app\":\"ewm-admin\",\"uri\":\"/events/1\",\"hits\":2},"
+                + "{\"app\":\"ewm-main-service\",\"uri\":\"/events/2\",\"hits\":3}]";
+
+        Map<String, Long> hitsByUri = reader.readHitsByUri(stream(json));
+
+        assertEquals(Map.of("/events/1", 7L, "/events/2", 3L), hitsByUri);
+    }
+
+    @DisplayName("Потоковый разбор выделяет меньше памяти, чем Object + convertValue")
+    @Test
+    void readHitsByUri_largeResponse_allocatesLessThanTreeConversion() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 20_000; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"app\":\"ewm-main-service\",\"uri\":\"/events/").append(i).append("\",\"hits\":").append(i).append('}');
+        }
+        byte[] body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 5; i++) {
+            readThroughTree(body);
+            reader.readHitsByUri(new ByteArrayInputStream(body));
+        }
+
+        long treeBytes = allocatedBytes(() -> readThroughTree(body));
+        long streamingBytes = allocatedBytes(() -> reader.readHitsByUri(new ByteArrayInputStream(body)));
+
+        log.info("Object + convertValue: {} байт, потоковый разбор: {} байт", treeBytes, streamingBytes);
+        assertTrue(streamingBytes * 2 < treeBytes,
+                "потоковый разбор: " + streamingBytes + " байт, Object + convertValue: " + treeBytes + " байт");
+    }
+
+    private Map<String, Long> readThroughTree(byte[] body) throws IOException {
+        Object tree = objectMapper.readValue(body, Object.class);
+        return Arrays.stream(objectMapper.convertValue(tree, ViewStatsDto[].class))
+                .collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits));
+    }
+
+    private static long allocatedBytes(IoAction action) throws IOException {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threadMXBean.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.stat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HitsBatchResultDto {
+    private int accepted;
+    private int rejected;
+}
@@ -0,0 +1,122 @@
+package db.migration.h2;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * app и uri выносятся в словарь statistic_endpoint, ip хранится в 16 байтах (IPv4 как ::ffff:a.b.c.d).
+ * <p>
+ * В H2 нет функций для разбора IP-адресов, поэтому миграция написана на Java. Разбор намеренно не зависит
+ * от классов приложения: изменение их поведения не должно менять смысл уже применённой миграции.
+ * Как и в миграции для PostgreSQL, некорректные адреса, сохранённые ранее, превращаются в ::.
+ */
+@SuppressWarnings("checkstyle:TypeName")
+public class V3__dictionary_endpoints_and_binary_ip extends BaseJavaMigration {
+
+    private static final int IP_LENGTH = 16;
+    private static final int BATCH_SIZE = 1000;
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE statistic_endpoint(
+                        id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        app VARCHAR(255) NOT NULL,
+                        uri VARCHAR(255) NOT NULL,
+                        CONSTRAINT uq_statistic_endpoint UNIQUE (app, uri)
+                    )""");
+            statement.execute("INSERT INTO statistic_endpoint (app, uri) SELECT DISTINCT app, uri FROM statistic");
+            statement.execute("ALTER TABLE statistic ADD COLUMN endpoint_id INTEGER");
+            statement.execute("ALTER TABLE statistic ADD COLUMN ip_bytes VARBINARY(16)");
+            statement.execute("""
+                    UPDATE statistic s
+                    SET endpoint_id = (SELECT e.id FROM statistic_endpoint e WHERE e.app = s.app AND e.uri = s.uri)""");
+        }
+
+        convertIps(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX IF EXISTS idx_statistic_uri_created");
+            statement.execute("DROP INDEX IF EXISTS idx_statistic_created");
+            statement.execute("ALTER TABLE statistic DROP COLUMN app");
+            statement.execute("ALTER TABLE statistic DROP COLUMN uri");
+            statement.execute("ALTER TABLE statistic DROP COLUMN ip");
+            statement.execute("ALTER TABLE statistic ALTER COLUMN ip_bytes RENAME TO ip");
+            statement.execute("ALTER TABLE statistic ALTER COLUMN endpoint_id SET NOT NULL");
+            statement.execute("ALTER TABLE statistic ALTER COLUMN ip SET NOT NULL");
+            statement.execute("ALTER TABLE statistic ADD CONSTRAINT fk_statistic_endpoint "
+                    + "FOREIGN KEY (endpoint_id) REFERENCES statistic_endpoint (id)");
+            statement.execute("CREATE INDEX idx_statistic_endpoint_created ON statistic (endpoint_id, created, ip)");
+            statement.execute("CREATE INDEX idx_statistic_created ON statistic (created, endpoint_id, ip)");
+        }
+    }
+
+    private static void convertIps(Connection connection) throws SQLException {
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, ip FROM statistic");
+             PreparedStatement update = connection.prepareStatement("UPDATE statistic SET ip_bytes = ? WHERE id = ?")) {
+            int batch = 0;
+            while (rows.next()) {
+                update.setBytes(1, toBytes(rows.getString(2)));
+                update.setLong(2, rows.getLong(1));
+                update.addBatch();
+                if (++batch == BATCH_SIZE) {
+                    update.executeBatch();
+                    batch = 0;
+                }
+            }
+            if (batch > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Разбирает только литералы IP-адресов: строка без двоеточия, не являющаяся IPv4-адресом,
+     * не передаётся в {@link InetAddress#getByName}, чтобы не было обращения к DNS.
+     */
+    private static byte[] toBytes(String ip) {
+        byte[] bytes = new byte[IP_LENGTH];
+        String address = ip == null ? "" : ip.trim();
+        if (address.indexOf(':') < 0 && !isIpv4(address)) {
+            return bytes;
+        }
+        byte[] parsed;
+        try {
+            parsed = InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return bytes;
+        }
+        if (parsed.length == IP_LENGTH) {
+            return parsed;
+        }
+        bytes[10] = (byte) 0xff;
+        bytes[11] = (byte) 0xff;
+        System.arraycopy(parsed, 0, bytes, 12, parsed.length);
+        return bytes;
+    }
+
+    private static boolean isIpv4(String address) {
+        if (!IPV4.matcher(address).matches()) {
+            return false;
+        }
+        for (String octet : address.split("\\.")) {
+            if (Integer.parseInt(octet) > 255) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -2,8 +2,10 @@ package ru.practicum.stat;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"ru.practicum.stat", "ru.practicum.common"})
+@EnableScheduling
 public class StatisticsServer {
     public static void main(String[] args) {
         SpringApplication.run(StatisticsServer.class, args);
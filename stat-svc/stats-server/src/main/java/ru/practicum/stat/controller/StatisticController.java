@@ -6,6 +6,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.stat.HitDto;
+import ru.practicum.stat.HitsBatchResultDto;
 import ru.practicum.stat.ViewStatsDto;
 import ru.practicum.stat.service.StatisticService;
 
@@ -26,13 +27,21 @@ public class StatisticController {
         return statisticsService.createHit(hit);
     }
 
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/hits")
+    public HitsBatchResultDto createHits(@RequestBody List<HitDto> hits) {
+        log.info("Запрос на пакетное создание Hit, количество: {}", hits.size());
+        return statisticsService.createHits(hits);
+    }
+
     @GetMapping("/stats")
     public List<ViewStatsDto> getStats(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
             @RequestParam(required = false) List<String> uris,
-            @RequestParam(defaultValue = "false") Boolean unique) {
+            @RequestParam(defaultValue = "false") Boolean unique,
+            @RequestParam(defaultValue = "false") Boolean approx) {
         log.info("Запрос получения статистики");
-        return statisticsService.getStats(start, end, uris, unique);
+        return statisticsService.getStats(start, end, uris, unique, approx);
     }
 }
@@ -1,14 +1,19 @@
 package ru.practicum.stat.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.practicum.stat.HitDto;
 import ru.practicum.stat.model.Hit;
+import ru.practicum.stat.service.EndpointDictionary;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = EndpointDictionary.class)
 public interface HitMapper {
 
+    @Mapping(target = "app", source = "endpoint.app")
+    @Mapping(target = "uri", source = "endpoint.uri")
     HitDto hitToHitDto(Hit hit);
 
+    @Mapping(target = "endpoint", source = "hitDto")
     Hit hitDtoToHit(HitDto hitDto);
 
 }
@@ -0,0 +1,26 @@
+package ru.practicum.stat.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Словарь пар app + uri. Хит ссылается на запись словаря по целочисленному id
+ * вместо хранения строк в каждой строке statistic.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "statistic_endpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uq_statistic_endpoint", columnNames = {"app", "uri"}))
+public class Endpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    @Column(nullable = false)
+    private String app;
+    @Column(nullable = false)
+    private String uri;
+}
@@ -16,11 +16,11 @@ public class Hit {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    @Column(nullable = false)
-    private String app;
-    @Column(nullable = false)
-    private String uri;
-    @Column(nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "endpoint_id", nullable = false)
+    private Endpoint endpoint;
+    @Convert(converter = IpAddressConverter.class)
+    @Column(nullable = false, length = IpAddressConverter.IP_LENGTH)
     private String ip;
     @Column(name = "created", nullable = false)
     private LocalDateTime timestamp;
@@ -0,0 +1,36 @@
+package ru.practicum.stat.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.stat.sketch.HyperLogLog;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "statistic_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uq_statistic_rollup_bucket",
+                columnNames = {"granularity", "uri", "bucket_start", "app"}))
+public class HitRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+    @Column(nullable = false)
+    private String app;
+    @Column(nullable = false)
+    private String uri;
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    @Column(nullable = false)
+    private Long hits;
+    @Column(name = "ip_sketch", length = HyperLogLog.REGISTER_COUNT)
+    @ToString.Exclude
+    private byte[] ipSketch;
+}
@@ -0,0 +1,179 @@
+package ru.practicum.stat.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Хранит IP-адрес в 16 байтах: IPv6 как есть, IPv4 в виде IPv4-mapped адреса (::ffff:a.b.c.d).
+ * Разбор выполняется без обращения к DNS.
+ */
+@Converter
+public class IpAddressConverter implements AttributeConverter<String, byte[]> {
+
+    public static final int IP_LENGTH = 16;
+
+    private static final int IPV4_LENGTH = 4;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String ip) {
+        return toBytes(ip);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return fromBytes(bytes);
+    }
+
+    public static boolean isValid(String ip) {
+        return ip != null && parse(ip.trim()) != null;
+    }
+
+    public static byte[] toBytes(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        byte[] bytes = parse(ip.trim());
+        if (bytes == null) {
+            throw new IllegalArgumentException("Некорректный IP-адрес: " + ip);
+        }
+        return bytes;
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != IP_LENGTH) {
+            throw new IllegalArgumentException("IP-адрес должен занимать " + IP_LENGTH + " байт, получено " + bytes.length);
+        }
+        if (isIpv4Mapped(bytes)) {
+            return (bytes[12] & 0xff) + "." + (bytes[13] & 0xff) + "." + (bytes[14] & 0xff) + "." + (bytes[15] & 0xff);
+        }
+        try {
+            return InetAddress.getByAddress(bytes).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static byte[] parse(String ip) {
+        if (ip.indexOf(':') < 0) {
+            byte[] ipv4 = parseIpv4(ip);
+            if (ipv4 == null) {
+                return null;
+            }
+            byte[] bytes = new byte[IP_LENGTH];
+            bytes[10] = (byte) 0xff;
+            bytes[11] = (byte) 0xff;
+            System.arraycopy(ipv4, 0, bytes, 12, IPV4_LENGTH);
+            return bytes;
+        }
+        return parseIpv6(ip);
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        String[] parts = ip.split("\\.", -1);
+        if (parts.length != IPV4_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[IPV4_LENGTH];
+        for (int i = 0; i < IPV4_LENGTH; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || part.length() > 3) {
+                return null;
+            }
+            int octet = 0;
+            for (int j = 0; j < part.length(); j++) {
+                char c = part.charAt(j);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                octet = octet * 10 + (c - '0');
+            }
+            if (octet > 255) {
+                return null;
+            }
+            bytes[i] = (byte) octet;
+        }
+        return bytes;
+    }
+
+    private static byte[] parseIpv6(String ip) {
+        int zoneIndex = ip.indexOf('%');
+        String address = zoneIndex >= 0 ? ip.substring(0, zoneIndex) : ip;
+        int gap = address.indexOf("::");
+        if (gap >= 0 && address.indexOf("::", gap + 1) >= 0) {
+            return null;
+        }
+
+        byte[] head = parseGroups(gap >= 0 ? address.substring(0, gap) : address, gap < 0);
+        byte[] tail = gap >= 0 ? parseGroups(address.substring(gap + 2), true) : new byte[0];
+        if (head == null || tail == null) {
+            return null;
+        }
+        if (gap < 0 ? head.length != IP_LENGTH : head.length + tail.length > IP_LENGTH - 2) {
+            return null;
+        }
+
+        byte[] bytes = new byte[IP_LENGTH];
+        System.arraycopy(head, 0, bytes, 0, head.length);
+        System.arraycopy(tail, 0, bytes, IP_LENGTH - tail.length, tail.length);
+        return bytes;
+    }
+
+    /**
+     * Разбирает группы из 1-4 шестнадцатеричных цифр, разделённые двоеточием.
+     * Последняя группа может быть IPv4-адресом, если {@code ipv4TailAllowed}.
+     */
+    private static byte[] parseGroups(String part, boolean ipv4TailAllowed) {
+        if (part.isEmpty()) {
+            return new byte[0];
+        }
+        String[] groups = part.split(":", -1);
+        byte[] bytes = new byte[groups.length * 2 + 2];
+        int length = 0;
+        for (int i = 0; i < groups.length; i++) {
+            String group = groups[i];
+            if (ipv4TailAllowed && i == groups.length - 1 && group.indexOf('.') >= 0) {
+                byte[] ipv4 = parseIpv4(group);
+                if (ipv4 == null) {
+                    return null;
+                }
+                System.arraycopy(ipv4, 0, bytes, length, IPV4_LENGTH);
+                length += IPV4_LENGTH;
+                continue;
+            }
+            if (group.isEmpty() || group.length() > 4) {
+                return null;
+            }
+            int value = 0;
+            for (int j = 0; j < group.length(); j++) {
+                int digit = Character.digit(group.charAt(j), 16);
+                if (digit < 0) {
+                    return null;
+                }
+                value = (value << 4) | digit;
+            }
+            bytes[length++] = (byte) (value >> 8);
+            bytes[length++] = (byte) value;
+        }
+        if (length > IP_LENGTH) {
+            return null;
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(bytes, 0, result, 0, length);
+        return result;
+    }
+
+    private static boolean isIpv4Mapped(byte[] bytes) {
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return bytes[10] == (byte) 0xff && bytes[11] == (byte) 0xff;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.stat.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "statistic_rollup_gap")
+public class RollupGap {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // диапазон id ниже водяного знака (включительно), которых не было в statistic при агрегации
+    @Column(name = "from_id", nullable = false)
+    private Long fromId;
+    @Column(name = "to_id", nullable = false)
+    private Long toId;
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,33 @@
+package ru.practicum.stat.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    // порядок важен: от крупных бакетов к мелким
+    DAY(ChronoUnit.DAYS, true),
+    HOUR(ChronoUnit.HOURS, true),
+    MINUTE(ChronoUnit.MINUTES, false);
+
+    private final ChronoUnit unit;
+    // хранится ли для бакета скетч уникальных IP
+    private final boolean sketched;
+
+    RollupGranularity(ChronoUnit unit, boolean sketched) {
+        this.unit = unit;
+        this.sketched = sketched;
+    }
+
+    public boolean isSketched() {
+        return sketched;
+    }
+
+    public LocalDateTime floor(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(unit);
+    }
+
+    public LocalDateTime ceil(LocalDateTime dateTime) {
+        LocalDateTime floor = floor(dateTime);
+        return floor.equals(dateTime) ? floor : floor.plus(1, unit);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.stat.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "statistic_rollup_state")
+public class RollupWatermark {
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+    // все хиты с id <= lastHitId уже учтены в statistic_rollup
+    @Column(name = "last_hit_id", nullable = false)
+    private Long lastHitId;
+}
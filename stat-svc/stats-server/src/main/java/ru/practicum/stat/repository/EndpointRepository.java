@@ -0,0 +1,11 @@
+package ru.practicum.stat.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.stat.model.Endpoint;
+
+import java.util.Optional;
+
+public interface EndpointRepository extends JpaRepository<Endpoint, Integer> {
+
+    Optional<Endpoint> findByAppAndUri(String app, String uri);
+}
@@ -0,0 +1,10 @@
+package ru.practicum.stat.repository;
+
+import ru.practicum.stat.model.Hit;
+
+import java.util.List;
+
+public interface HitBatchRepository {
+
+    int[][] batchInsert(List<Hit> hits);
+}
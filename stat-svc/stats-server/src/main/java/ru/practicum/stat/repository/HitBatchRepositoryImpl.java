@@ -0,0 +1,30 @@
+package ru.practicum.stat.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.stat.model.Hit;
+import ru.practicum.stat.model.IpAddressConverter;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class HitBatchRepositoryImpl implements HitBatchRepository {
+
+    private static final String INSERT_HIT = "INSERT INTO statistic (endpoint_id, ip, created) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${stats-server.hits.jdbc-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public int[][] batchInsert(List<Hit> hits) {
+        return jdbcTemplate.batchUpdate(INSERT_HIT, hits, batchSize, (ps, hit) -> {
+            ps.setInt(1, hit.getEndpoint().getId());
+            ps.setBytes(2, IpAddressConverter.toBytes(hit.getIp()));
+            ps.setTimestamp(3, Timestamp.valueOf(hit.getTimestamp()));
+        });
+    }
+}
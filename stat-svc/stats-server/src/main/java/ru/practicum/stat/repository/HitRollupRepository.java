@@ -0,0 +1,59 @@
+package ru.practicum.stat.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.stat.model.HitRollup;
+import ru.practicum.stat.model.RollupGranularity;
+import ru.practicum.stat.model.Statistic;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface HitRollupRepository extends JpaRepository<HitRollup, Long> {
+
+    @Query("SELECT new ru.practicum.stat.model.Statistic(r.app, r.uri, SUM(r.hits)) " +
+            "FROM HitRollup r " +
+            "WHERE r.granularity = ?1 " +
+            "AND ((r.bucketStart >= ?2 AND r.bucketStart < ?3) OR (r.bucketStart >= ?4 AND r.bucketStart < ?5)) " +
+            "AND r.uri IN (?6) " +
+            "GROUP BY r.app, r.uri")
+    List<Statistic> sumHits(RollupGranularity granularity,
+                            LocalDateTime leftStart, LocalDateTime leftEnd,
+                            LocalDateTime rightStart, LocalDateTime rightEnd,
+                            List<String> uris);
+
+    @Query("SELECT new ru.practicum.stat.model.Statistic(r.app, r.uri, SUM(r.hits)) " +
+            "FROM HitRollup r " +
+            "WHERE r.granularity = ?1 " +
+            "AND ((r.bucketStart >= ?2 AND r.bucketStart < ?3) OR (r.bucketStart >= ?4 AND r.bucketStart < ?5)) " +
+            "GROUP BY r.app, r.uri")
+    List<Statistic> sumHitsAllUris(RollupGranularity granularity,
+                                   LocalDateTime leftStart, LocalDateTime leftEnd,
+                                   LocalDateTime rightStart, LocalDateTime rightEnd);
+
+    @Modifying
+    @Query("UPDATE HitRollup r SET r.hits = r.hits + ?5 " +
+            "WHERE r.granularity = ?1 AND r.app = ?2 AND r.uri = ?3 AND r.bucketStart = ?4")
+    int addHits(RollupGranularity granularity, String app, String uri, LocalDateTime bucketStart, Long hits);
+
+    @Query("SELECT r FROM HitRollup r " +
+            "WHERE r.granularity = ?1 " +
+            "AND ((r.bucketStart >= ?2 AND r.bucketStart < ?3) OR (r.bucketStart >= ?4 AND r.bucketStart < ?5)) " +
+            "AND r.uri IN (?6)")
+    List<HitRollup> findBuckets(RollupGranularity granularity,
+                                LocalDateTime leftStart, LocalDateTime leftEnd,
+                                LocalDateTime rightStart, LocalDateTime rightEnd,
+                                List<String> uris);
+
+    @Query("SELECT r FROM HitRollup r " +
+            "WHERE r.granularity = ?1 " +
+            "AND ((r.bucketStart >= ?2 AND r.bucketStart < ?3) OR (r.bucketStart >= ?4 AND r.bucketStart < ?5))")
+    List<HitRollup> findBucketsAllUris(RollupGranularity granularity,
+                                       LocalDateTime leftStart, LocalDateTime leftEnd,
+                                       LocalDateTime rightStart, LocalDateTime rightEnd);
+
+    Optional<HitRollup> findByGranularityAndAppAndUriAndBucketStart(RollupGranularity granularity, String app,
+                                                                     String uri, LocalDateTime bucketStart);
+}
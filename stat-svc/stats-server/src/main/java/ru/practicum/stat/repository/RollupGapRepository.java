@@ -0,0 +1,18 @@
+package ru.practicum.stat.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.stat.model.RollupGap;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RollupGapRepository extends JpaRepository<RollupGap, Long> {
+
+    List<RollupGap> findAllByOrderByFromId();
+
+    @Modifying
+    @Query("DELETE FROM RollupGap g WHERE g.detectedAt < ?1")
+    int deleteDetectedBefore(LocalDateTime detectedAt);
+}
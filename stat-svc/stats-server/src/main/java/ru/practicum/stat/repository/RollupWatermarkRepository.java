@@ -0,0 +1,7 @@
+package ru.practicum.stat.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.stat.model.RollupWatermark;
+
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, Long> {
+}
@@ -8,37 +8,81 @@ import ru.practicum.stat.model.Statistic;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface StatisticRepository extends JpaRepository<Hit, Long> {
+public interface StatisticRepository extends JpaRepository<Hit, Long>, HitBatchRepository {
 
-    @Query("SELECT new ru.practicum.stat.model.Statistic(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
-            "FROM Hit h " +
+    @Query("SELECT new ru.practicum.stat.model.Statistic(e.app, e.uri, COUNT(DISTINCT h.ip)) " +
+            "FROM Hit h JOIN h.endpoint e " +
             "WHERE h.timestamp BETWEEN ?1 AND ?2 " +
-            "AND h.uri IN (?3) " +
-            "GROUP BY h.app, h.uri " +
+            "AND e.uri IN (?3) " +
+            "GROUP BY e.app, e.uri " +
             "ORDER BY COUNT(DISTINCT h.ip) DESC")
     List<Statistic> findStatsUniqueIp(LocalDateTime start, LocalDateTime end, List<String> uris);
 
-    @Query("SELECT new ru.practicum.stat.model.Statistic(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
-            "FROM Hit h " +
+    @Query("SELECT new ru.practicum.stat.model.Statistic(e.app, e.uri, COUNT(DISTINCT h.ip)) " +
+            "FROM Hit h JOIN h.endpoint e " +
             "WHERE h.timestamp BETWEEN ?1 AND ?2 " +
-            "GROUP BY h.app, h.uri " +
+            "GROUP BY e.app, e.uri " +
             "ORDER BY COUNT(DISTINCT h.ip) DESC")
     List<Statistic> findStatsUniqueIpAllUris(LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT new ru.practicum.stat.model.Statistic(h.app, h.uri, COUNT(h.ip)) " +
-            "FROM Hit h " +
+    @Query("SELECT new ru.practicum.stat.model.Statistic(e.app, e.uri, COUNT(h.ip)) " +
+            "FROM Hit h JOIN h.endpoint e " +
             "WHERE h.timestamp BETWEEN ?1 AND ?2 " +
-            "AND h.uri IN (?3) " +
-            "GROUP BY h.app, h.uri " +
+            "AND e.uri IN (?3) " +
+            "GROUP BY e.app, e.uri " +
             "ORDER BY COUNT(h.ip) DESC")
     List<Statistic> findStats(LocalDateTime start, LocalDateTime end, List<String> uris);
 
-    @Query("SELECT new ru.practicum.stat.model.Statistic(h.app, h.uri, COUNT(h.ip)) " +
-            "FROM Hit h " +
+    @Query("SELECT new ru.practicum.stat.model.Statistic(e.app, e.uri, COUNT(h.ip)) " +
+            "FROM Hit h JOIN h.endpoint e " +
             "WHERE h.timestamp BETWEEN ?1 AND ?2 " +
-            "GROUP BY h.app, h.uri " +
+            "GROUP BY e.app, e.uri " +
             "ORDER BY COUNT(h.ip) DESC")
     List<Statistic> findStatsAllUris(LocalDateTime start, LocalDateTime end);
 
+    @Query("SELECT new ru.practicum.stat.model.Statistic(e.app, e.uri, COUNT(h.ip)) " +
+            "FROM Hit h JOIN h.endpoint e " +
+            "WHERE ((h.timestamp >= ?1 AND h.timestamp < ?2) " +
+            "OR (h.timestamp >= ?3 AND h.timestamp <= ?4) " +
+            "OR (h.timestamp >= ?2 AND h.timestamp < ?3 AND (h.id > ?5 OR " +
+            "EXISTS (SELECT g.id FROM RollupGap g WHERE h.id BETWEEN g.fromId AND g.toId)))) " +
+            "AND e.uri IN (?6) " +
+            "GROUP BY e.app, e.uri")
+    List<Statistic> findStatsOutsideRollup(LocalDateTime start, LocalDateTime rolledFrom, LocalDateTime rolledTo,
+                                           LocalDateTime end, Long rolledUpToId, List<String> uris);
 
+    @Query("SELECT new ru.practicum.stat.model.Statistic(e.app, e.uri, COUNT(h.ip)) " +
+            "FROM Hit h JOIN h.endpoint e " +
+            "WHERE (h.timestamp >= ?1 AND h.timestamp < ?2) " +
+            "OR (h.timestamp >= ?3 AND h.timestamp <= ?4) " +
+            "OR (h.timestamp >= ?2 AND h.timestamp < ?3 AND (h.id > ?5 OR " +
+            "EXISTS (SELECT g.id FROM RollupGap g WHERE h.id BETWEEN g.fromId AND g.toId))) " +
+            "GROUP BY e.app, e.uri")
+    List<Statistic> findStatsOutsideRollupAllUris(LocalDateTime start, LocalDateTime rolledFrom, LocalDateTime rolledTo,
+                                                  LocalDateTime end, Long rolledUpToId);
+
+    @Query("SELECT e.app, e.uri, h.ip " +
+            "FROM Hit h JOIN h.endpoint e " +
+            "WHERE ((h.timestamp >= ?1 AND h.timestamp < ?2) " +
+            "OR (h.timestamp >= ?3 AND h.timestamp <= ?4) " +
+            "OR (h.timestamp >= ?2 AND h.timestamp < ?3 AND (h.id > ?5 OR " +
+            "EXISTS (SELECT g.id FROM RollupGap g WHERE h.id BETWEEN g.fromId AND g.toId)))) " +
+            "AND e.uri IN (?6)")
+    List<Object[]> findIpsOutsideRollup(LocalDateTime start, LocalDateTime rolledFrom, LocalDateTime rolledTo,
+                                        LocalDateTime end, Long rolledUpToId, List<String> uris);
+
+    @Query("SELECT e.app, e.uri, h.ip " +
+            "FROM Hit h JOIN h.endpoint e " +
+            "WHERE (h.timestamp >= ?1 AND h.timestamp < ?2) " +
+            "OR (h.timestamp >= ?3 AND h.timestamp <= ?4) " +
+            "OR (h.timestamp >= ?2 AND h.timestamp < ?3 AND (h.id > ?5 OR " +
+            "EXISTS (SELECT g.id FROM RollupGap g WHERE h.id BETWEEN g.fromId AND g.toId)))")
+    List<Object[]> findIpsOutsideRollupAllUris(LocalDateTime start, LocalDateTime rolledFrom, LocalDateTime rolledTo,
+                                               LocalDateTime end, Long rolledUpToId);
+
+    @Query("SELECT e.app, e.uri, h.timestamp, h.ip, h.id FROM Hit h JOIN h.endpoint e WHERE h.id > ?1 AND h.id <= ?2")
+    List<Object[]> findHitsForRollup(Long fromIdExclusive, Long toIdInclusive);
+
+    @Query("SELECT MAX(h.id) FROM Hit h")
+    Long findMaxId();
 }
@@ -0,0 +1,76 @@
+package ru.practicum.stat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.stat.HitDto;
+import ru.practicum.stat.model.Endpoint;
+import ru.practicum.stat.repository.EndpointRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Выдаёт запись словаря statistic_endpoint для пары app + uri, создавая её при первом обращении.
+ * Найденные записи кэшируются в памяти; при превышении {@code cache-size} кэш сбрасывается.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EndpointDictionary {
+
+    private final EndpointRepository endpointRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<EndpointKey, Endpoint> cache = new ConcurrentHashMap<>();
+
+    @Value("${stats-server.endpoints.cache-size:100000}")
+    private int cacheSize;
+
+    public Endpoint toEndpoint(HitDto hitDto) {
+        if (hitDto == null) {
+            return null;
+        }
+        return resolve(hitDto.getApp(), hitDto.getUri());
+    }
+
+    public Endpoint resolve(String app, String uri) {
+        EndpointKey key = new EndpointKey(app, uri);
+        Endpoint endpoint = cache.get(key);
+        if (endpoint != null) {
+            return endpoint;
+        }
+
+        endpoint = endpointRepository.findByAppAndUri(app, uri).orElseGet(() -> create(app, uri));
+        if (cache.size() >= cacheSize) {
+            cache.clear();
+        }
+        cache.put(key, endpoint);
+        return endpoint;
+    }
+
+    /**
+     * Запись создаётся в отдельной транзакции, чтобы откат хита не оставил в кэше несуществующий id.
+     * Если запись параллельно создал другой поток, используется она.
+     */
+    private Endpoint create(String app, String uri) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            Endpoint created = requiresNew.execute(status ->
+                    endpointRepository.saveAndFlush(new Endpoint(null, app, uri)));
+            log.info("Добавлен endpoint в словарь: {}", created);
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            return requiresNew.execute(status -> endpointRepository.findByAppAndUri(app, uri))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private record EndpointKey(String app, String uri) {
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.stat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.stat.model.HitRollup;
+import ru.practicum.stat.model.RollupGap;
+import ru.practicum.stat.model.RollupGranularity;
+import ru.practicum.stat.model.RollupWatermark;
+import ru.practicum.stat.repository.HitRollupRepository;
+import ru.practicum.stat.repository.RollupGapRepository;
+import ru.practicum.stat.repository.RollupWatermarkRepository;
+import ru.practicum.stat.repository.StatisticRepository;
+import ru.practicum.stat.sketch.HyperLogLog;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Переносит новые хиты из statistic в бакеты statistic_rollup.
+ * Хиты обрабатываются по возрастанию id, прогресс хранится в statistic_rollup_state.
+ * <p>
+ * IDENTITY id выдаются до коммита, поэтому строка с меньшим id может появиться позже строки с большим.
+ * Чтобы реже пропускать такие хиты, за один запуск обрабатываются только id,
+ * которые уже были видны на предыдущем запуске. Id из обработанного диапазона, которых в statistic не оказалось,
+ * запоминаются диапазонами в statistic_rollup_gap и проверяются на каждом следующем запуске: хит, закоммиченный позже,
+ * попадает в агрегаты тогда, а до этого /stats читает его из statistic. Пропуски старше {@code gap-retention-ms} считаются откаченными транзакциями и удаляются.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stats-server.rollup.enabled", havingValue = "true", matchIfMissing = true)
+public class HitRollupJob {
+
+    private final StatisticRepository statisticRepository;
+    private final HitRollupRepository hitRollupRepository;
+    private final RollupWatermarkRepository rollupWatermarkRepository;
+    private final RollupGapRepository rollupGapRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stats-server.rollup.chunk-size:10000}")
+    private long chunkSize;
+
+    @Value("${stats-server.rollup.gap-retention-ms:3600000}")
+    private long gapRetentionMs;
+
+    private volatile Long previousMaxId;
+
+    @Scheduled(fixedDelayString = "${stats-server.rollup.interval-ms:60000}",
+            initialDelayString = "${stats-server.rollup.interval-ms:60000}")
+    public void rollup() {
+        Long safeMaxId = previousMaxId;
+        previousMaxId = statisticRepository.findMaxId();
+        if (safeMaxId == null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> rollupGaps());
+
+        long lastId = rollupWatermarkRepository.findById(RollupWatermark.ID)
+                .map(RollupWatermark::getLastHitId)
+                .orElse(0L);
+        while (lastId < safeMaxId) {
+            long fromId = lastId;
+            long toId = Math.min(lastId + chunkSize, safeMaxId);
+            transactionTemplate.executeWithoutResult(status -> rollupChunk(fromId, toId));
+            lastId = toId;
+        }
+    }
+
+    private void rollupChunk(long fromIdExclusive, long toIdInclusive) {
+        List<Object[]> rows = statisticRepository.findHitsForRollup(fromIdExclusive, toIdInclusive);
+        int buckets = addToRollup(rows);
+
+        List<RollupGap> gaps = findGaps(fromIdExclusive, toIdInclusive, rows, LocalDateTime.now());
+        rollupGapRepository.saveAll(gaps);
+
+        rollupWatermarkRepository.save(new RollupWatermark(RollupWatermark.ID, toIdInclusive));
+        log.info("Агрегировано хитов: {}, бакетов: {}, диапазонов пропущенных id: {}, id до {}",
+                rows.size(), buckets, gaps.size(), toIdInclusive);
+    }
+
+    /**
+     * Добавляет в агрегаты хиты, закоммиченные после того, как их id был пропущен.
+     * Диапазон пропуска заменяется оставшимися после них поддиапазонами.
+     */
+    private void rollupGaps() {
+        int expired = rollupGapRepository.deleteDetectedBefore(LocalDateTime.now().minus(Duration.ofMillis(gapRetentionMs)));
+        if (expired > 0) {
+            log.info("Удалено диапазонов пропущенных id старше {} мс: {}", gapRetentionMs, expired);
+        }
+        for (RollupGap gap : rollupGapRepository.findAllByOrderByFromId()) {
+            List<Object[]> rows = statisticRepository.findHitsForRollup(gap.getFromId() - 1, gap.getToId());
+            if (rows.isEmpty()) {
+                continue;
+            }
+            int buckets = addToRollup(rows);
+            rollupGapRepository.delete(gap);
+            rollupGapRepository.saveAll(findGaps(gap.getFromId() - 1, gap.getToId(), rows, gap.getDetectedAt()));
+            log.info("Агрегировано хитов из пропусков id: {}, бакетов: {}", rows.size(), buckets);
+        }
+    }
+
+    /**
+     * @return диапазоны id из (fromIdExclusive, toIdInclusive], которых нет среди строк
+     */
+    private static List<RollupGap> findGaps(long fromIdExclusive, long toIdInclusive, List<Object[]> rows,
+                                            LocalDateTime detectedAt) {
+        List<Long> ids = rows.stream().map(row -> (Long) row[4]).sorted().toList();
+        List<RollupGap> gaps = new ArrayList<>();
+        long next = fromIdExclusive + 1;
+        for (long id : ids) {
+            if (id > next) {
+                gaps.add(new RollupGap(null, next, id - 1, detectedAt));
+            }
+            next = id + 1;
+        }
+        if (next <= toIdInclusive) {
+            gaps.add(new RollupGap(null, next, toIdInclusive, detectedAt));
+        }
+        return gaps;
+    }
+
+    /**
+     * @return количество затронутых бакетов
+     */
+    private int addToRollup(List<Object[]> rows) {
+        Map<BucketKey, Long> buckets = new HashMap<>();
+        Map<BucketKey, HyperLogLog> sketches = new HashMap<>();
+        for (Object[] row : rows) {
+            String app = (String) row[0];
+            String uri = (String) row[1];
+            LocalDateTime created = (LocalDateTime) row[2];
+            String ip = (String) row[3];
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                BucketKey key = new BucketKey(granularity, app, uri, granularity.floor(created));
+                buckets.merge(key, 1L, Long::sum);
+                if (granularity.isSketched()) {
+                    sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(ip);
+                }
+            }
+        }
+
+        buckets.forEach((key, hits) -> {
+            if (key.granularity().isSketched()) {
+                addHitsWithSketch(key, hits, sketches.get(key));
+            } else if (hitRollupRepository.addHits(key.granularity(), key.app(), key.uri(), key.bucketStart(), hits) == 0) {
+                hitRollupRepository.save(new HitRollup(null, key.granularity(), key.app(), key.uri(), key.bucketStart(),
+                        hits, null));
+            }
+        });
+        return buckets.size();
+    }
+
+    private void addHitsWithSketch(BucketKey key, Long hits, HyperLogLog sketch) {
+        HitRollup rollup = hitRollupRepository.findByGranularityAndAppAndUriAndBucketStart(
+                        key.granularity(), key.app(), key.uri(), key.bucketStart())
+                .orElseGet(() -> new HitRollup(null, key.granularity(), key.app(), key.uri(), key.bucketStart(), 0L, null));
+        HyperLogLog merged = HyperLogLog.fromBytes(rollup.getIpSketch());
+        merged.merge(sketch);
+        rollup.setHits(rollup.getHits() + hits);
+        rollup.setIpSketch(merged.toBytes());
+        hitRollupRepository.save(rollup);
+    }
+
+    private record BucketKey(RollupGranularity granularity, String app, String uri, LocalDateTime bucketStart) {
+    }
+}
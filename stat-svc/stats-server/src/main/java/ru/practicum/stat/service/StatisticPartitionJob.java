@@ -0,0 +1,147 @@
+package ru.practicum.stat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Обслуживает помесячные секции таблицы statistic (только PostgreSQL).
+ * Заранее создаёт секции на {@code months-ahead} месяцев вперёд и отсоединяет
+ * (или удаляет) секции старше {@code retention-months}.
+ * Отсоединённая секция переименовывается в statistic_archive_yYYYYmMM и остаётся в базе.
+ * <p>
+ * Хиты с датой вне созданных секций лежат в statistic_default: при создании секции
+ * функция create_statistic_partition переносит в неё строки своего месяца, а строки старше
+ * {@code retention-months} удаляются из statistic_default или переносятся в statistic_archive_default.
+ * Ошибка обслуживания одной секции записывается в лог и не мешает остальным и запуску сервиса.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatisticPartitionJob {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("statistic_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${stats-server.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${stats-server.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${stats-server.partitions.retention-mode:DETACH}")
+    private RetentionMode retentionMode;
+
+    private volatile Boolean partitioned;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats-server.partitions.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = currentMonth.plusMonths(i);
+            try {
+                jdbcTemplate.query("SELECT create_statistic_partition(?)", rs -> null, month);
+            } catch (DataAccessException e) {
+                log.error("Не удалось создать секцию statistic за {}: {}", month, e.getMessage());
+            }
+        }
+
+        if (retentionMonths > 0) {
+            LocalDate retainFrom = currentMonth.minusMonths(retentionMonths);
+            removeExpiredPartitions(retainFrom);
+            removeExpiredDefaultRows(retainFrom);
+        }
+    }
+
+    private void removeExpiredPartitions(LocalDate retainFrom) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = 'statistic'", String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            LocalDate monthStart = LocalDate.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), 1);
+            if (!monthStart.isBefore(retainFrom)) {
+                continue;
+            }
+
+            try {
+                removePartition(partition);
+            } catch (DataAccessException e) {
+                log.error("Не удалось отсоединить секцию {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void removePartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE statistic DETACH PARTITION " + partition);
+        if (retentionMode == RetentionMode.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Секция {} удалена", partition);
+        } else {
+            String archive = partition.replace("statistic_", "statistic_archive_");
+            jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archive);
+            log.info("Секция {} отсоединена и переименована в {}", partition, archive);
+        }
+    }
+
+    /**
+     * Хиты с датой раньше самой старой секции не попадают под отсоединение секций,
+     * поэтому устаревшие строки statistic_default удаляются или переносятся в архив отдельно.
+     */
+    private void removeExpiredDefaultRows(LocalDate retainFrom) {
+        try {
+            int removed;
+            if (retentionMode == RetentionMode.DROP) {
+                removed = jdbcTemplate.update("DELETE FROM statistic_default WHERE created < ?", retainFrom);
+            } else {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS statistic_archive_default (LIKE statistic)");
+                removed = jdbcTemplate.update("WITH moved AS (" +
+                        "DELETE FROM statistic_default WHERE created < ? " +
+                        "RETURNING id, endpoint_id, ip, created) " +
+                        "INSERT INTO statistic_archive_default (id, endpoint_id, ip, created) " +
+                        "SELECT id, endpoint_id, ip, created FROM moved", retainFrom);
+            }
+            if (removed > 0) {
+                log.info("Из statistic_default убрано {} хитов старше {}", removed, retainFrom);
+            }
+        } catch (DataAccessException e) {
+            log.error("Не удалось убрать устаревшие хиты из statistic_default: {}", e.getMessage());
+        }
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return partitioned;
+    }
+
+    public enum RetentionMode {
+        DETACH,
+        DROP
+    }
+}
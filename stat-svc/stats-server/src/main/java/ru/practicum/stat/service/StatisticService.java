@@ -1,6 +1,7 @@
 package ru.practicum.stat.service;
 
 import ru.practicum.stat.HitDto;
+import ru.practicum.stat.HitsBatchResultDto;
 import ru.practicum.stat.ViewStatsDto;
 
 import java.time.LocalDateTime;
@@ -9,5 +10,9 @@ import java.util.List;
 public interface StatisticService {
     HitDto createHit(HitDto createDto);
 
+    HitsBatchResultDto createHits(List<HitDto> createDtos);
+
     List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
+
+    List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique, Boolean approx);
 }
@@ -2,18 +2,28 @@ package ru.practicum.stat.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.stat.HitDto;
+import ru.practicum.stat.HitsBatchResultDto;
 import ru.practicum.stat.ViewStatsDto;
 import ru.practicum.stat.mapper.HitMapper;
 import ru.practicum.stat.mapper.ViewStatsMapper;
 import ru.practicum.stat.model.Hit;
+import ru.practicum.stat.model.HitRollup;
+import ru.practicum.stat.model.IpAddressConverter;
+import ru.practicum.stat.model.RollupGranularity;
+import ru.practicum.stat.model.RollupWatermark;
 import ru.practicum.stat.model.Statistic;
+import ru.practicum.stat.repository.HitRollupRepository;
+import ru.practicum.stat.repository.RollupWatermarkRepository;
 import ru.practicum.stat.repository.StatisticRepository;
+import ru.practicum.stat.sketch.HyperLogLog;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,33 +34,74 @@ public class StatisticServiceImp implements StatisticService {
 
     private final StatisticRepository statisticRepository;
 
+    private final HitRollupRepository hitRollupRepository;
+
+    private final RollupWatermarkRepository rollupWatermarkRepository;
+
     private final HitMapper hitMapper;
 
     private final ViewStatsMapper viewStatsMapper;
 
+    @Value("${stats-server.rollup.enabled:true}")
+    private boolean rollupEnabled;
+
     @Override
     public HitDto createHit(HitDto createDto) {
+        if (!IpAddressConverter.isValid(createDto.getIp())) {
+            throw new IllegalArgumentException("Некорректный IP-адрес: " + createDto.getIp());
+        }
         Hit hit = hitMapper.hitDtoToHit(createDto);
         Hit createdHit = statisticRepository.save(hit);
         log.info("Создан Hit с данными: {}", createdHit);
         return hitMapper.hitToHitDto(createdHit);
     }
 
-    @Transactional(readOnly = true)
+    @Override
+    public HitsBatchResultDto createHits(List<HitDto> createDtos) {
+        if (createDtos == null || createDtos.isEmpty()) {
+            return new HitsBatchResultDto(0, 0);
+        }
+        List<Hit> hits = new ArrayList<>(createDtos.size());
+        for (HitDto createDto : createDtos) {
+            if (isValid(createDto)) {
+                hits.add(hitMapper.hitDtoToHit(createDto));
+            }
+        }
+        if (!hits.isEmpty()) {
+            statisticRepository.batchInsert(hits);
+        }
+        int rejected = createDtos.size() - hits.size();
+        log.info("Сохранено Hit: {}, отклонено: {}", hits.size(), rejected);
+        return new HitsBatchResultDto(hits.size(), rejected);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     @Override
     public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-        log.info("Получение статистики с start={}, end={}, uris={}, unique={}", start, end, uris, unique);
+        return getStats(start, end, uris, unique, false);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique,
+                                       Boolean approx) {
+        log.info("Получение статистики с start={}, end={}, uris={}, unique={}, approx={}", start, end, uris, unique, approx);
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Дата начала диапазона должна быть ДО даты конца диапазона");
         }
         List<Statistic> viewStats;
 
-        if (unique) {
+        if (unique && Boolean.TRUE.equals(approx) && rollupEnabled
+                && RollupGranularity.HOUR.ceil(start).isBefore(RollupGranularity.HOUR.floor(end))) {
+            viewStats = getApproxUniqueStats(start, end, uris);
+        } else if (unique) {
             if (uris != null && !uris.isEmpty()) {
                 viewStats = statisticRepository.findStatsUniqueIp(start, end, uris);
             } else {
                 viewStats = statisticRepository.findStatsUniqueIpAllUris(start, end);
             }
+        } else if (rollupEnabled && RollupGranularity.MINUTE.ceil(start).isBefore(RollupGranularity.MINUTE.floor(end))) {
+            viewStats = getStatsFromRollup(start, end, uris);
         } else {
             if (uris != null && !uris.isEmpty()) {
                 viewStats = statisticRepository.findStats(start, end, uris);
@@ -64,4 +115,114 @@ public class StatisticServiceImp implements StatisticService {
                 .map(viewStatsMapper::toStatisticDto)
                 .collect(Collectors.toList()) : List.of();
     }
+
+    /**
+     * Целые минуты диапазона берутся из statistic_rollup (дни, часы, минуты),
+     * неполные минуты на краях и ещё не агрегированные хиты — из statistic.
+     */
+    private List<Statistic> getStatsFromRollup(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime rolledFrom = RollupGranularity.MINUTE.ceil(start);
+        LocalDateTime rolledTo = RollupGranularity.MINUTE.floor(end);
+        long rolledUpToId = rollupWatermarkRepository.findById(RollupWatermark.ID)
+                .map(RollupWatermark::getLastHitId)
+                .orElse(0L);
+        boolean allUris = uris == null || uris.isEmpty();
+
+        Map<RollupGranularity, List<LocalDateTime>> segments = new EnumMap<>(RollupGranularity.class);
+        splitIntoBuckets(rolledFrom, rolledTo, 0, RollupGranularity.MINUTE, segments);
+
+        List<Statistic> parts = new ArrayList<>();
+        segments.forEach((granularity, bounds) -> {
+            LocalDateTime leftStart = bounds.get(0);
+            LocalDateTime leftEnd = bounds.get(1);
+            LocalDateTime rightStart = bounds.size() > 2 ? bounds.get(2) : leftEnd;
+            LocalDateTime rightEnd = bounds.size() > 2 ? bounds.get(3) : leftEnd;
+            parts.addAll(allUris
+                    ? hitRollupRepository.sumHitsAllUris(granularity, leftStart, leftEnd, rightStart, rightEnd)
+                    : hitRollupRepository.sumHits(granularity, leftStart, leftEnd, rightStart, rightEnd, uris));
+        });
+        parts.addAll(allUris
+                ? statisticRepository.findStatsOutsideRollupAllUris(start, rolledFrom, rolledTo, end, rolledUpToId)
+                : statisticRepository.findStatsOutsideRollup(start, rolledFrom, rolledTo, end, rolledUpToId, uris));
+
+        Map<List<String>, Long> hitsByUri = new HashMap<>();
+        for (Statistic part : parts) {
+            hitsByUri.merge(List.of(part.getApp(), part.getUri()), part.getHits(), Long::sum);
+        }
+        return hitsByUri.entrySet().stream()
+                .map(entry -> new Statistic(entry.getKey().get(0), entry.getKey().get(1), entry.getValue()))
+                .sorted(Comparator.comparing(Statistic::getHits).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Уникальные IP оцениваются объединением HyperLogLog-скетчей дневных и часовых бакетов.
+     * IP из неполных часов на краях и ещё не агрегированных хитов добавляются в скетч напрямую.
+     */
+    private List<Statistic> getApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime rolledFrom = RollupGranularity.HOUR.ceil(start);
+        LocalDateTime rolledTo = RollupGranularity.HOUR.floor(end);
+        long rolledUpToId = rollupWatermarkRepository.findById(RollupWatermark.ID)
+                .map(RollupWatermark::getLastHitId)
+                .orElse(0L);
+        boolean allUris = uris == null || uris.isEmpty();
+
+        Map<RollupGranularity, List<LocalDateTime>> segments = new EnumMap<>(RollupGranularity.class);
+        splitIntoBuckets(rolledFrom, rolledTo, 0, RollupGranularity.HOUR, segments);
+
+        Map<List<String>, HyperLogLog> sketchesByUri = new HashMap<>();
+        segments.forEach((granularity, bounds) -> {
+            LocalDateTime leftStart = bounds.get(0);
+            LocalDateTime leftEnd = bounds.get(1);
+            LocalDateTime rightStart = bounds.size() > 2 ? bounds.get(2) : leftEnd;
+            LocalDateTime rightEnd = bounds.size() > 2 ? bounds.get(3) : leftEnd;
+            List<HitRollup> buckets = allUris
+                    ? hitRollupRepository.findBucketsAllUris(granularity, leftStart, leftEnd, rightStart, rightEnd)
+                    : hitRollupRepository.findBuckets(granularity, leftStart, leftEnd, rightStart, rightEnd, uris);
+            for (HitRollup bucket : buckets) {
+                sketchesByUri.computeIfAbsent(List.of(bucket.getApp(), bucket.getUri()), key -> new HyperLogLog())
+                        .merge(HyperLogLog.fromBytes(bucket.getIpSketch()));
+            }
+        });
+
+        List<Object[]> rawIps = allUris
+                ? statisticRepository.findIpsOutsideRollupAllUris(start, rolledFrom, rolledTo, end, rolledUpToId)
+                : statisticRepository.findIpsOutsideRollup(start, rolledFrom, rolledTo, end, rolledUpToId, uris);
+        for (Object[] row : rawIps) {
+            sketchesByUri.computeIfAbsent(List.of((String) row[0], (String) row[1]), key -> new HyperLogLog())
+                    .add((String) row[2]);
+        }
+
+        return sketchesByUri.entrySet().stream()
+                .map(entry -> new Statistic(entry.getKey().get(0), entry.getKey().get(1), entry.getValue().estimate()))
+                .sorted(Comparator.comparing(Statistic::getHits).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static void splitIntoBuckets(LocalDateTime from, LocalDateTime to, int level, RollupGranularity finest,
+                                         Map<RollupGranularity, List<LocalDateTime>> segments) {
+        if (level > finest.ordinal() || !from.isBefore(to)) {
+            return;
+        }
+        RollupGranularity granularity = RollupGranularity.values()[level];
+        LocalDateTime bucketFrom = granularity.ceil(from);
+        LocalDateTime bucketTo = granularity.floor(to);
+        if (!bucketFrom.isBefore(bucketTo)) {
+            splitIntoBuckets(from, to, level + 1, finest, segments);
+            return;
+        }
+        splitIntoBuckets(from, bucketFrom, level + 1, finest, segments);
+        List<LocalDateTime> bounds = segments.computeIfAbsent(granularity, key -> new ArrayList<>());
+        bounds.add(bucketFrom);
+        bounds.add(bucketTo);
+        splitIntoBuckets(bucketTo, to, level + 1, finest, segments);
+    }
+
+    private boolean isValid(HitDto hitDto) {
+        return hitDto != null
+                && hitDto.getApp() != null && !hitDto.getApp().isBlank()
+                && hitDto.getUri() != null && !hitDto.getUri().isBlank()
+                && IpAddressConverter.isValid(hitDto.getIp())
+                && hitDto.getTimestamp() != null;
+    }
 }
@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS statistic(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    ip VARCHAR(255) NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS statistic_rollup(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    granularity VARCHAR(10) NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    hits BIGINT NOT NULL,
+    ip_sketch VARBINARY(2048),
+    CONSTRAINT uq_statistic_rollup_bucket UNIQUE (granularity, uri, bucket_start, app)
+);
+
+CREATE TABLE IF NOT EXISTS statistic_rollup_state(
+    id BIGINT PRIMARY KEY,
+    last_hit_id BIGINT NOT NULL
+);
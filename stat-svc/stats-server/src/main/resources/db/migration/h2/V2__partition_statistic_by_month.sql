@@ -0,0 +1,3 @@
+-- H2 не поддерживает секционирование, создаются только индексы
+CREATE INDEX IF NOT EXISTS idx_statistic_uri_created ON statistic (uri, created, app, ip);
+CREATE INDEX IF NOT EXISTS idx_statistic_created ON statistic (created, app, uri, ip);
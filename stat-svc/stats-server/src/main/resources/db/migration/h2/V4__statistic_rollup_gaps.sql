@@ -0,0 +1,5 @@
+-- id, пропущенные при агрегации: транзакция с меньшим id могла закоммититься позже
+CREATE TABLE IF NOT EXISTS statistic_rollup_gap(
+    hit_id BIGINT PRIMARY KEY,
+    detected_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
@@ -0,0 +1,17 @@
+-- пропуски id хранятся диапазонами: при разреженных id (например, после удаления секций)
+-- отдельная строка на каждый id превращалась в миллионы вставок
+ALTER TABLE statistic_rollup_gap RENAME TO statistic_rollup_gap_legacy;
+
+CREATE TABLE statistic_rollup_gap(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    from_id BIGINT NOT NULL,
+    to_id BIGINT NOT NULL,
+    detected_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+INSERT INTO statistic_rollup_gap (from_id, to_id, detected_at)
+SELECT hit_id, hit_id, detected_at FROM statistic_rollup_gap_legacy;
+
+DROP TABLE statistic_rollup_gap_legacy;
+
+CREATE INDEX idx_statistic_rollup_gap_ids ON statistic_rollup_gap (from_id, to_id);
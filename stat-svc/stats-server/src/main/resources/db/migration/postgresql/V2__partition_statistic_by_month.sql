@@ -0,0 +1,51 @@
+-- statistic становится секционированной по месяцам таблицей.
+-- Ключ секционирования обязан входить в первичный ключ, поэтому PK = (id, created).
+ALTER TABLE statistic RENAME TO statistic_legacy;
+
+CREATE SEQUENCE IF NOT EXISTS statistic_id_seq;
+
+CREATE TABLE statistic(
+    id BIGINT NOT NULL DEFAULT nextval('statistic_id_seq'),
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    ip VARCHAR(255) NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    PRIMARY KEY (id, created)
+) PARTITION BY RANGE (created);
+
+ALTER SEQUENCE statistic_id_seq OWNED BY statistic.id;
+
+CREATE TABLE statistic_default PARTITION OF statistic DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_statistic_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::DATE;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF statistic FOR VALUES FROM (%L) TO (%L)',
+                   'statistic_y' || to_char(partition_start, 'YYYY') || 'm' || to_char(partition_start, 'MM'),
+                   partition_start,
+                   (partition_start + INTERVAL '1 month')::DATE);
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created) FROM statistic_legacy), now()))::DATE;
+BEGIN
+    WHILE month_start <= date_trunc('month', now() + INTERVAL '2 months') LOOP
+        PERFORM create_statistic_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO statistic (id, app, uri, ip, created)
+SELECT id, app, uri, ip, created FROM statistic_legacy;
+
+SELECT setval('statistic_id_seq', COALESCE((SELECT MAX(id) FROM statistic_legacy), 0) + 1, false);
+
+DROP TABLE statistic_legacy;
+
+-- покрывающие индексы: запросы /stats читают app, uri, ip без обращения к таблице
+CREATE INDEX idx_statistic_uri_created ON statistic (uri, created) INCLUDE (app, ip);
+CREATE INDEX idx_statistic_created ON statistic (created) INCLUDE (app, uri, ip);
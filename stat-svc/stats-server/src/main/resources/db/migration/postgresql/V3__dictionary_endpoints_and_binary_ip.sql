@@ -0,0 +1,46 @@
+-- app и uri выносятся в словарь statistic_endpoint, ip хранится в 16 байтах (IPv4 как ::ffff:a.b.c.d)
+CREATE TABLE statistic_endpoint(
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    CONSTRAINT uq_statistic_endpoint UNIQUE (app, uri)
+);
+
+INSERT INTO statistic_endpoint (app, uri)
+SELECT DISTINCT app, uri FROM statistic;
+
+-- некорректные адреса, сохранённые ранее, превращаются в ::
+CREATE FUNCTION statistic_ip_to_bytes(ip TEXT) RETURNS BYTEA AS $$
+BEGIN
+    IF family(ip::INET) = 4 THEN
+        RETURN '\x00000000000000000000ffff'::BYTEA || substring(inet_send(ip::INET) FROM 5);
+    END IF;
+    RETURN substring(inet_send(ip::INET) FROM 5);
+EXCEPTION
+    WHEN invalid_text_representation THEN
+        RETURN '\x00000000000000000000000000000000'::BYTEA;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+ALTER TABLE statistic ADD COLUMN endpoint_id INTEGER;
+ALTER TABLE statistic ADD COLUMN ip_bytes BYTEA;
+
+UPDATE statistic s
+SET endpoint_id = e.id,
+    ip_bytes = statistic_ip_to_bytes(s.ip)
+FROM statistic_endpoint e
+WHERE e.app = s.app AND e.uri = s.uri;
+
+DROP FUNCTION statistic_ip_to_bytes(TEXT);
+
+-- индексы idx_statistic_uri_created и idx_statistic_created удаляются вместе со столбцами
+ALTER TABLE statistic DROP COLUMN app;
+ALTER TABLE statistic DROP COLUMN uri;
+ALTER TABLE statistic DROP COLUMN ip;
+ALTER TABLE statistic RENAME COLUMN ip_bytes TO ip;
+ALTER TABLE statistic ALTER COLUMN endpoint_id SET NOT NULL;
+ALTER TABLE statistic ALTER COLUMN ip SET NOT NULL;
+ALTER TABLE statistic ADD CONSTRAINT fk_statistic_endpoint FOREIGN KEY (endpoint_id) REFERENCES statistic_endpoint (id);
+
+CREATE INDEX idx_statistic_endpoint_created ON statistic (endpoint_id, created) INCLUDE (ip);
+CREATE INDEX idx_statistic_created ON statistic (created) INCLUDE (endpoint_id, ip);
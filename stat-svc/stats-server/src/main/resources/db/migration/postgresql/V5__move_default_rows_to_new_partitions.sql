@@ -0,0 +1,32 @@
+-- created задаёт клиент, поэтому хиты вне созданных секций попадают в statistic_default.
+-- PostgreSQL не создаёт секцию, если в секции по умолчанию уже есть строки её диапазона,
+-- поэтому такие строки переносятся: default отсоединяется, создаётся секция, строки
+-- переносятся в неё, default присоединяется обратно. Всё выполняется в одной транзакции.
+CREATE OR REPLACE FUNCTION create_statistic_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::DATE;
+    partition_end DATE := (partition_start + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'statistic_y' || to_char(partition_start, 'YYYY') || 'm' || to_char(partition_start, 'MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM statistic_default WHERE created >= partition_start AND created < partition_end) THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF statistic FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, partition_start, partition_end);
+        RETURN;
+    END IF;
+
+    ALTER TABLE statistic DETACH PARTITION statistic_default;
+    EXECUTE format('CREATE TABLE %I PARTITION OF statistic FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, partition_start, partition_end);
+    EXECUTE format('WITH moved AS ('
+                       || 'DELETE FROM statistic_default WHERE created >= %L AND created < %L '
+                       || 'RETURNING id, endpoint_id, ip, created) '
+                       || 'INSERT INTO %I (id, endpoint_id, ip, created) '
+                       || 'SELECT id, endpoint_id, ip, created FROM moved',
+                   partition_start, partition_end, partition_name);
+    ALTER TABLE statistic ATTACH PARTITION statistic_default DEFAULT;
+END;
+$$ LANGUAGE plpgsql;
@@ -1,9 +0,0 @@
-DROP TABLE IF EXISTS statistic CASCADE;
-
-CREATE TABLE IF NOT EXISTS statistic(
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    app VARCHAR(255) NOT NULL,
-    uri VARCHAR(255) NOT NULL,
-    ip VARCHAR(15) NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
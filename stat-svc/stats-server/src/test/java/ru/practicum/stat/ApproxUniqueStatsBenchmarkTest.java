@@ -0,0 +1,118 @@
+package ru.practicum.stat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.stat.service.HitRollupJob;
+import ru.practicum.stat.service.StatisticService;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнение времени ответа GET /stats?unique=true: точный COUNT(DISTINCT ip) по statistic
+ * против объединения HyperLogLog-скетчей из statistic_rollup (approx=true).
+ * 2 000 000 хитов с 200 000 уникальных IP за 28 дней, схема создаётся миграциями Flyway.
+ * Запуск: mvn test -Dtest=ApproxUniqueStatsBenchmarkTest -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/statdb
+ * -Dbenchmark.postgres.user=admin -Dbenchmark.postgres.password=admin
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@SpringBootTest(classes = StatisticsServer.class, properties = {
+        "spring.datasource.url=${benchmark.postgres.url}",
+        "spring.datasource.username=${benchmark.postgres.user:admin}",
+        "spring.datasource.password=${benchmark.postgres.password:admin}",
+        "spring.datasource.hikari.schema=" + ApproxUniqueStatsBenchmarkTest.SCHEMA,
+        "spring.flyway.schemas=" + ApproxUniqueStatsBenchmarkTest.SCHEMA,
+        "stats-server.rollup.chunk-size=100000",
+        "stats-server.rollup.interval-ms=3600000"
+})
+@DisplayName("Бенчмарк приблизительного подсчёта уникальных IP")
+public class ApproxUniqueStatsBenchmarkTest {
+
+    static final String SCHEMA = "stats_hll_benchmark";
+
+    private static final int HITS = 2_000_000;
+    private static final int DISTINCT_IPS = 200_000;
+    private static final int DAYS = 28;
+    private static final String URI = "/events/1";
+
+    @Autowired
+    private StatisticService statisticService;
+
+    @Autowired
+    private HitRollupJob hitRollupJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void dropSchema() throws SQLException {
+        executeAsAdmin("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @AfterAll
+    static void cleanUp() throws SQLException {
+        executeAsAdmin("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @DisplayName("approx=true отвечает быстрее COUNT(DISTINCT ip) с ошибкой не больше 5%")
+    @Test
+    void getStats_approxUnique_fasterThanCountDistinct() {
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime start = end.minusDays(DAYS);
+        jdbcTemplate.update("INSERT INTO statistic_endpoint (app, uri) VALUES ('ewm-main-service', ?)", URI);
+        // IPv4 хранится как ::ffff:a.b.c.d, адреса 10.0.0.0 + (i mod DISTINCT_IPS)
+        jdbcTemplate.update("INSERT INTO statistic (endpoint_id, ip, created) "
+                + "SELECT e.id, '\\x00000000000000000000ffff'::BYTEA || int4send(167772160 + i % " + DISTINCT_IPS + "), "
+                + "?::TIMESTAMP + (i % (" + DAYS + " * 86400)) * INTERVAL '1 second' "
+                + "FROM generate_series(1, " + HITS + ") AS i, statistic_endpoint e", start);
+        jdbcTemplate.execute("ANALYZE");
+        hitRollupJob.rollup();
+        hitRollupJob.rollup();
+
+        long exact = statisticService.getStats(start, end, List.of(URI), true, false).get(0).getHits();
+        long approx = statisticService.getStats(start, end, List.of(URI), true, true).get(0).getHits();
+        long exactNanos = measure(start, end, false);
+        long approxNanos = measure(start, end, true);
+
+        log.info("COUNT(DISTINCT ip): {} за {} мс, HyperLogLog: {} за {} мс",
+                exact, exactNanos / 1_000_000, approx, approxNanos / 1_000_000.0);
+        assertEquals(DISTINCT_IPS, exact);
+        assertEquals(exact, approx, exact * 0.05);
+        assertTrue(approxNanos < exactNanos);
+    }
+
+    private long measure(LocalDateTime start, LocalDateTime end, boolean approx) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long startNanos = System.nanoTime();
+            statisticService.getStats(start, end, List.of(URI), true, approx);
+            best = Math.min(best, System.nanoTime() - startNanos);
+        }
+        return best;
+    }
+
+    private static void executeAsAdmin(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.postgres.url"),
+                System.getProperty("benchmark.postgres.user", "admin"),
+                System.getProperty("benchmark.postgres.password", "admin"));
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -5,11 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.stat.mapper.HitMapper;
+import ru.practicum.stat.model.Endpoint;
 import ru.practicum.stat.model.Hit;
 
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SpringBootTest
@@ -22,12 +24,12 @@ public class HitMapperTest {
     @DisplayName("Преобразовать корректный Hit в HitDto")
     @Test
     void hitToHitDto_allHitFieldsFilled_returnCorrectHitDto() {
-        Hit hit = new Hit(1L, "app", "some uri", "123.123.0.0", LocalDateTime.now());
+        Hit hit = new Hit(1L, new Endpoint(1, "app", "some uri"), "123.123.0.0", LocalDateTime.now());
         HitDto hitDto = hitMapper.hitToHitDto(hit);
         assertEquals(hitDto.getId(), hit.getId());
         assertEquals(hitDto.getIp(), hit.getIp());
-        assertEquals(hitDto.getApp(), hit.getApp());
-        assertEquals(hitDto.getUri(), hit.getUri());
+        assertEquals(hitDto.getApp(), hit.getEndpoint().getApp());
+        assertEquals(hitDto.getUri(), hit.getEndpoint().getUri());
         assertEquals(hitDto.getTimestamp(), hit.getTimestamp());
     }
 
@@ -44,8 +46,9 @@ public class HitMapperTest {
         HitDto hitCreateDto = new HitDto(1L,"app", "some uri", "123.123.0.0", LocalDateTime.now());
         Hit hit = hitMapper.hitDtoToHit(hitCreateDto);
         assertEquals(hitCreateDto.getIp(), hit.getIp());
-        assertEquals(hitCreateDto.getApp(), hit.getApp());
-        assertEquals(hitCreateDto.getUri(), hit.getUri());
+        assertNotNull(hit.getEndpoint().getId());
+        assertEquals(hitCreateDto.getApp(), hit.getEndpoint().getApp());
+        assertEquals(hitCreateDto.getUri(), hit.getEndpoint().getUri());
         assertEquals(hitCreateDto.getTimestamp(), hit.getTimestamp());
     }
 
@@ -0,0 +1,58 @@
+package ru.practicum.stat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.stat.sketch.HyperLogLog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование HyperLogLog")
+public class HyperLogLogTest {
+
+    @DisplayName("Малое количество уникальных значений считается точно")
+    @Test
+    void estimate_fewDistinctValues_returnExactCount() {
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.add("10.0.0.1");
+        sketch.add("10.0.0.2");
+        sketch.add("10.0.0.1");
+
+        assertEquals(2, sketch.estimate());
+    }
+
+    @DisplayName("Ошибка оценки на 100 000 уникальных значений не превышает 5%")
+    @Test
+    void estimate_manyDistinctValues_returnCountWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 100_000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.add("10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+        }
+
+        assertEquals(distinct, sketch.estimate(), distinct * 0.05);
+    }
+
+    @DisplayName("Объединение скетчей не учитывает пересечение дважды")
+    @Test
+    void merge_overlappingSketches_returnUnionEstimate() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 6000; i++) {
+            first.add("ip-" + i);
+        }
+        for (int i = 3000; i < 9000; i++) {
+            second.add("ip-" + i);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(first.toBytes());
+        restored.merge(second);
+
+        assertEquals(9000, restored.estimate(), 9000 * 0.05);
+    }
+
+    @DisplayName("Скетч некорректного размера отклоняется")
+    @Test
+    void fromBytes_wrongLength_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[10]));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.stat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.stat.model.IpAddressConverter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование IpAddressConverter")
+public class IpAddressConverterTest {
+
+    @DisplayName("IPv4 хранится в 16 байтах и восстанавливается без изменений")
+    @Test
+    void toBytes_ipv4_returnMappedAddress() {
+        byte[] bytes = IpAddressConverter.toBytes("192.168.0.1");
+
+        assertEquals(IpAddressConverter.IP_LENGTH, bytes.length);
+        assertEquals((byte) 0xff, bytes[10]);
+        assertEquals((byte) 192, bytes[12]);
+        assertEquals("192.168.0.1", IpAddressConverter.fromBytes(bytes));
+    }
+
+    @DisplayName("IPv6 с сокращением :: восстанавливается в полной форме")
+    @Test
+    void toBytes_ipv6_returnSameAddress() {
+        byte[] bytes = IpAddressConverter.toBytes("2001:db8::1");
+
+        assertEquals(IpAddressConverter.IP_LENGTH, bytes.length);
+        assertEquals("2001:db8:0:0:0:0:0:1", IpAddressConverter.fromBytes(bytes));
+        assertEquals("10.0.0.1", IpAddressConverter.fromBytes(IpAddressConverter.toBytes("::ffff:10.0.0.1")));
+    }
+
+    @DisplayName("Некорректный адрес отклоняется")
+    @Test
+    void toBytes_invalidAddress_throwException() {
+        assertFalse(IpAddressConverter.isValid("256.0.0.1"));
+        assertFalse(IpAddressConverter.isValid("1:2:3"));
+        assertFalse(IpAddressConverter.isValid("1::2::3"));
+        assertFalse(IpAddressConverter.isValid("localhost"));
+        assertThrows(IllegalArgumentException.class, () -> IpAddressConverter.toBytes("10.0.0"));
+    }
+}
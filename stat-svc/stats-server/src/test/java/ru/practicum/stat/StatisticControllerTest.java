@@ -51,6 +51,25 @@ public class StatisticControllerTest {
                 .andExpect(jsonPath("$.uri").value("/uri"));
     }
 
+    @Test
+    void createHits_shouldReturnAcceptedAndRejectedCounts() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<HitDto> requestDtos = List.of(
+                new HitDto(null, "app", "/uri/1", "192.168.0.1", now),
+                new HitDto(null, "app", "/uri/2", "192.168.0.2", now),
+                new HitDto(null, "app", null, "192.168.0.3", now));
+
+        when(statisticsService.createHits(anyList())).thenReturn(new HitsBatchResultDto(2, 1));
+
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDtos)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
     @Test
     void getStats_shouldReturnListOfStats() throws Exception {
         LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
@@ -59,7 +78,7 @@ public class StatisticControllerTest {
         ViewStatsDto statDto = new ViewStatsDto("app", "/uri", 5L);
         List<ViewStatsDto> stats = List.of(statDto);
 
-        when(statisticsService.getStats(eq(start), eq(end), isNull(), eq(false))).thenReturn(stats);
+        when(statisticsService.getStats(eq(start), eq(end), isNull(), eq(false), eq(false))).thenReturn(stats);
 
         mockMvc.perform(get("/stats")
                         .param("start", "2024-01-01 10:00:00")
@@ -69,4 +88,21 @@ public class StatisticControllerTest {
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].hits").value(5));
     }
+
+    @Test
+    void getStats_withApprox_shouldPassApproxFlag() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+        when(statisticsService.getStats(eq(start), eq(end), isNull(), eq(true), eq(true)))
+                .thenReturn(List.of(new ViewStatsDto("app", "/uri", 3L)));
+
+        mockMvc.perform(get("/stats")
+                        .param("start", "2024-01-01 10:00:00")
+                        .param("end", "2024-01-02 10:00:00")
+                        .param("unique", "true")
+                        .param("approx", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hits").value(3));
+    }
 }
@@ -5,12 +5,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.stat.service.HitRollupJob;
 import ru.practicum.stat.service.StatisticService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -23,6 +26,12 @@ public class StatisticServiceImplTest {
     @Autowired
     StatisticService statisticService;
 
+    @Autowired
+    HitRollupJob hitRollupJob;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         HitDto hitCreateDto1 = new HitDto(null,"app1", "some uri1", "123.123.0.0", LocalDateTime.now().minusDays(1));
@@ -51,6 +60,143 @@ public class StatisticServiceImplTest {
         assertEquals(hitCreateDto.getTimestamp(), hitDto.getTimestamp());
     }
 
+    @Test
+    @DisplayName("Пакетно создать Hit, некорректные отклоняются")
+    void createHits_withValidAndInvalidHits_returnAcceptedAndRejectedCounts() {
+        List<HitDto> hits = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            hits.add(new HitDto(null, "app", "batch uri", "10.0.0." + (i % 10), LocalDateTime.now()));
+        }
+        hits.add(new HitDto(null, "app", "batch uri", null, LocalDateTime.now()));
+        hits.add(new HitDto(null, "app", " ", "10.0.0.1", LocalDateTime.now()));
+        hits.add(new HitDto(null, "app", "batch uri", "10.0.0.1", null));
+
+        HitsBatchResultDto result = statisticService.createHits(hits);
+
+        assertEquals(1000, result.getAccepted());
+        assertEquals(3, result.getRejected());
+
+        List<ViewStatsDto> viewStatsDtoList = statisticService.getStats(LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().plusMinutes(1), List.of("batch uri"), false);
+        assertEquals(1000L, viewStatsDtoList.get(0).getHits());
+    }
+
+    @Test
+    @DisplayName("Статистика по агрегатам совпадает с подсчётом по сырым хитам")
+    void getStats_afterRollup_returnSameHitsAsRawData() {
+        LocalDateTime base = LocalDateTime.now().minusDays(10);
+        for (int i = 0; i < 240; i++) {
+            statisticService.createHit(new HitDto(null, "app", "rollup uri", "10.0.0.1", base.plusMinutes(i * 59L)));
+        }
+        hitRollupJob.rollup();
+        hitRollupJob.rollup();
+        statisticService.createHit(new HitDto(null, "app", "rollup uri", "10.0.0.2", LocalDateTime.now().minusHours(5)));
+
+        LocalDateTime start = base.plusMinutes(30).plusSeconds(17);
+        LocalDateTime end = LocalDateTime.now();
+
+        List<ViewStatsDto> byUri = statisticService.getStats(start, end, List.of("rollup uri"), false);
+        assertEquals(1, byUri.size());
+        assertEquals(240L, byUri.get(0).getHits());
+
+        List<ViewStatsDto> allUris = statisticService.getStats(start, end, new ArrayList<>(), false);
+        assertEquals("rollup uri", allUris.get(0).getUri());
+        assertEquals(240L, allUris.get(0).getHits());
+    }
+
+    @Test
+    @DisplayName("Хит с меньшим id, закоммиченный после агрегации, попадает в агрегаты")
+    void getStats_lowerIdCommittedAfterRollup_returnAllHits() {
+        LocalDateTime base = LocalDateTime.now().minusDays(10);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(statisticService.createHit(
+                    new HitDto(null, "app", "late uri", "10.0.0.1", base.plusMinutes(i * 59L))).getId());
+        }
+        // хит ещё не закоммичен: его id уже выдан, но строки в statistic нет
+        Long lateId = ids.get(5);
+        Map<String, Object> lateHit = jdbcTemplate.queryForMap(
+                "SELECT endpoint_id, ip, created FROM statistic WHERE id = ?", lateId);
+        jdbcTemplate.update("DELETE FROM statistic WHERE id = ?", lateId);
+        hitRollupJob.rollup();
+        hitRollupJob.rollup();
+
+        jdbcTemplate.update("INSERT INTO statistic (id, endpoint_id, ip, created) VALUES (?, ?, ?, ?)",
+                lateId, lateHit.get("endpoint_id"), lateHit.get("ip"), lateHit.get("created"));
+        hitRollupJob.rollup();
+
+        List<ViewStatsDto> stats = statisticService.getStats(base.minusSeconds(30), LocalDateTime.now(),
+                List.of("late uri"), false);
+        assertEquals(10L, stats.get(0).getHits());
+    }
+
+    @Test
+    @DisplayName("Хит с меньшим id, закоммиченный после агрегации, учитывается до следующей агрегации")
+    void getStats_lowerIdCommittedBeforeNextRollup_returnAllHits() {
+        LocalDateTime base = LocalDateTime.now().minusDays(10);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(statisticService.createHit(
+                    new HitDto(null, "app", "late uri", "10.0.0.1", base.plusMinutes(i * 59L))).getId());
+        }
+        Long lateId = ids.get(5);
+        Map<String, Object> lateHit = jdbcTemplate.queryForMap(
+                "SELECT endpoint_id, ip, created FROM statistic WHERE id = ?", lateId);
+        jdbcTemplate.update("DELETE FROM statistic WHERE id = ?", lateId);
+        hitRollupJob.rollup();
+        hitRollupJob.rollup();
+
+        jdbcTemplate.update("INSERT INTO statistic (id, endpoint_id, ip, created) VALUES (?, ?, ?, ?)",
+                lateId, lateHit.get("endpoint_id"), lateHit.get("ip"), lateHit.get("created"));
+
+        List<ViewStatsDto> stats = statisticService.getStats(base.minusSeconds(30), LocalDateTime.now(),
+                List.of("late uri"), false);
+        assertEquals(10L, stats.get(0).getHits());
+    }
+
+    @Test
+    @DisplayName("Подряд идущие пропущенные id сохраняются одним диапазоном")
+    void rollup_sparseIds_storeGapAsRange() {
+        LocalDateTime base = LocalDateTime.now().minusDays(10);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(statisticService.createHit(
+                    new HitDto(null, "app", "sparse uri", "10.0.0.1", base.plusMinutes(i))).getId());
+        }
+        jdbcTemplate.update("DELETE FROM statistic WHERE id BETWEEN ? AND ?", ids.get(1), ids.get(8));
+        hitRollupJob.rollup();
+        hitRollupJob.rollup();
+
+        List<Map<String, Object>> gaps = jdbcTemplate.queryForList("SELECT from_id, to_id FROM statistic_rollup_gap");
+        assertEquals(1, gaps.size());
+        assertEquals(ids.get(1).longValue(), ((Number) gaps.get(0).get("from_id")).longValue());
+        assertEquals(ids.get(8).longValue(), ((Number) gaps.get(0).get("to_id")).longValue());
+    }
+
+    @Test
+    @DisplayName("Приблизительное число уникальных IP отличается от точного не более чем на 5%")
+    void getStats_uniqueApprox_returnEstimateCloseToExact() {
+        LocalDateTime base = LocalDateTime.now().minusDays(3);
+        List<HitDto> hits = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            int ip = i % 2500;
+            hits.add(new HitDto(null, "app", "approx uri", "10.1." + (ip / 256) + "." + (ip % 256), base.plusMinutes(i)));
+        }
+        statisticService.createHits(hits);
+        hitRollupJob.rollup();
+        hitRollupJob.rollup();
+        statisticService.createHit(new HitDto(null, "app", "approx uri", "10.2.0.1", LocalDateTime.now().minusMinutes(1)));
+
+        LocalDateTime start = base.plusMinutes(7).plusSeconds(30);
+        LocalDateTime end = LocalDateTime.now();
+
+        long exact = statisticService.getStats(start, end, List.of("approx uri"), true, false).get(0).getHits();
+        long approx = statisticService.getStats(start, end, List.of("approx uri"), true, true).get(0).getHits();
+
+        assertEquals(2501L, exact);
+        assertEquals(exact, approx, exact * 0.05);
+    }
+
     @Test
     @DisplayName("Получить Statistic unique = true, uris не пуст")
     void getStats_uniqueTrueAndUrisNotEmpty_returnStatisticList() {